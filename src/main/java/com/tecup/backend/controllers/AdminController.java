@@ -1,5 +1,6 @@
 package com.tecup.backend.controllers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.tecup.backend.models.*;
 import com.tecup.backend.payload.repository.EventRepository;
 import com.tecup.backend.payload.repository.JuryRepository;
@@ -8,18 +9,24 @@ import com.tecup.backend.payload.repository.UserRepository;
 import com.tecup.backend.payload.request.AdminJuryRequest;
 import com.tecup.backend.payload.request.AdminRequest;
 import com.tecup.backend.payload.response.*;
+import com.tecup.backend.security.authorization.AllowedRoles;
+import com.tecup.backend.security.services.CachedUserDetailsService;
+import com.tecup.backend.security.services.SecurityVersionService;
+import com.tecup.backend.services.UserImportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 @RestController
 @RequestMapping("/api/admin")
-@PreAuthorize("hasRole('ADMIN')") // Solo los administradores pueden acceder
+@AllowedRoles(ERole.ROLE_ADMIN) // Solo los administradores pueden acceder
 public class AdminController {
 
     @Autowired
@@ -34,6 +41,15 @@ public class AdminController {
     @Autowired
     private JuryRepository juryRepository;
 
+    @Autowired
+    private SecurityVersionService securityVersionService;
+
+    @Autowired
+    private CachedUserDetailsService cachedUserDetailsService;
+
+    @Autowired
+    private UserImportService userImportService;
+
     /**
      * Asignar roles ADMIN u ORGANIZADOR.
      */
@@ -76,7 +92,7 @@ public class AdminController {
         }
 
         user.setRoles(roles);
-        userRepository.save(user);
+        saveRoleChange(user);
         return ResponseEntity.ok(new AdminResponse(user.getId(), user.getUsername(), roles.stream().map(Role::getName).map(Enum::name).toList(),
                 "Rol asignado exitosamente."));
     }
@@ -123,7 +139,7 @@ public class AdminController {
         }
 
         user.setRoles(roles);
-        userRepository.save(user);
+        saveRoleChange(user);
         return ResponseEntity.ok(new AdminResponse(user.getId(), user.getUsername(), roles.stream().map(Role::getName).map(Enum::name).toList(),
                 "Rol eliminado exitosamente."));
     }
@@ -151,7 +167,7 @@ public class AdminController {
         }
 
         user.getRoles().add(juradoRole);
-        userRepository.save(user);
+        saveRoleChange(user);
 
         Jury jury = new Jury();
         jury.setJurado(user);
@@ -182,7 +198,7 @@ public class AdminController {
         juryOptional.ifPresent(juryRepository::delete);
 
         user.getRoles().remove(juradoRole);
-        userRepository.save(user);
+        saveRoleChange(user);
 
         return ResponseEntity.ok(new AdminJuryResponse(user.getId(), user.getUsername(), null, null, "Rol de jurado eliminado exitosamente."));
     }
@@ -200,6 +216,44 @@ public class AdminController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Importación masiva de estudiantes desde un arreglo JSON de SignupRequest.
+     */
+    @PostMapping(value = "/users/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importUsersJson(InputStream body) throws IOException {
+        return importUsers(() -> userImportService.importJson(body));
+    }
+
+    /**
+     * Importación masiva de estudiantes desde un CSV (username,email,password,careerId,role).
+     */
+    @PostMapping(value = "/users/import", consumes = "text/csv")
+    public ResponseEntity<?> importUsersCsv(InputStream body) throws IOException {
+        return importUsers(() -> userImportService.importCsv(body));
+    }
+
+    private ResponseEntity<?> importUsers(UserImport userImport) throws IOException {
+        try {
+            return ResponseEntity.ok(userImport.run());
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    private interface UserImport {
+        UserImportResponse run() throws IOException;
+    }
+
+    /**
+     * Guarda un cambio de roles e invalida los tokens emitidos con los roles anteriores.
+     */
+    private void saveRoleChange(User user) {
+        securityVersionService.bump(user);
+        userRepository.save(user);
+        securityVersionService.publish(user);
+        cachedUserDetailsService.evict(user.getUsername());
+    }
+
 
 
 }
@@ -7,36 +7,47 @@ import com.tecup.backend.models.User;
 import com.tecup.backend.payload.repository.CareerRepository;
 import com.tecup.backend.payload.request.LoginRequest;
 import com.tecup.backend.payload.request.SignupRequest;
+import com.tecup.backend.payload.response.AvailabilityResponse;
 import com.tecup.backend.payload.response.MessageResponse;
 import com.tecup.backend.payload.response.UserInfoResponse;
 import com.tecup.backend.payload.repository.RoleRepository;
 import com.tecup.backend.payload.repository.UserRepository;
+import com.tecup.backend.payload.repository.UserRepository.SigninProfileRow;
 import com.tecup.backend.security.jwt.JwtUtils;
+import com.tecup.backend.security.jwt.TokenRevocationService;
+import com.tecup.backend.security.services.PasswordHashingService;
 import com.tecup.backend.security.services.UserDetailsImpl;
+import com.tecup.backend.security.services.UserDetailsServiceImpl;
+import com.tecup.backend.services.UserAvailabilityService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
-  @Autowired
-  AuthenticationManager authenticationManager;
-
   @Autowired
   UserRepository userRepository;
 
@@ -47,43 +58,68 @@ public class AuthController {
   CareerRepository careerRepository;
 
   @Autowired
-  PasswordEncoder encoder;
+  JwtUtils jwtUtils;
 
   @Autowired
-  JwtUtils jwtUtils;
+  UserDetailsServiceImpl userDetailsService;
 
-  @PostMapping("/signin")
-  public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+  @Autowired
+  PasswordHashingService passwordHashingService;
 
-      Authentication authentication = authenticationManager
-              .authenticate(new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+  @Autowired
+  TokenRevocationService tokenRevocationService;
 
-      SecurityContextHolder.getContext().setAuthentication(authentication);
+  @Autowired
+  UserAvailabilityService userAvailabilityService;
 
-      UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+  // Executor de las peticiones asíncronas de Spring MVC
+  @Autowired
+  @Qualifier("applicationTaskExecutor")
+  Executor requestExecutor;
 
-      ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(userDetails);
+  @PostMapping("/signin")
+  public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    // Solo BCrypt va al pool de hashing; las consultas y la respuesta usan el executor de peticiones
+    return CompletableFuture.supplyAsync(() -> loadSigninUser(loginRequest.getUsername()), requestExecutor)
+            .thenCompose(user -> passwordHashingService.verify(loginRequest.getPassword(), user.getPassword())
+                    .<ResponseEntity<?>>thenApplyAsync(upgradedHash -> signin(user, upgradedHash), requestExecutor))
+            .exceptionally(this::signinFailed);
+  }
+
+  private UserDetailsImpl loadSigninUser(String username) {
+    try {
+      return (UserDetailsImpl) userDetailsService.loadUserByUsername(username);
+    } catch (UsernameNotFoundException e) {
+      throw new BadCredentialsException("Bad credentials");
+    }
+  }
 
-      // Obtener el usuario desde el repositorio para acceder a la carrera
-      User user = userRepository.findByUsername(userDetails.getUsername())
-              .orElseThrow(() -> new RuntimeException("Error: Usuario no encontrado."));
+  private ResponseEntity<?> signin(UserDetailsImpl userDetails, Optional<String> upgradedHash) {
+      // Rehash transparente cuando el costo del hash guardado no es el calibrado
+      if (upgradedHash.isPresent()) {
+        userDetails = (UserDetailsImpl) userDetailsService.updatePassword(userDetails, upgradedHash.get());
+      }
 
-      // Obtener el nombre de la carrera (si tiene una asociada)
-      String careerName = user.getCareer() != null ? user.getCareer().getName() : null;
+      ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(userDetails);
 
-      //Obtener Departamento de la carrera asociada al usuario
-      String departmentCareer = null;
-      if (user.getCareer() != null) {
-          departmentCareer = user.getCareer().getDepartment_id().getName();
+      // Carrera, departamento e inscripciones en una sola consulta, usando el id del principal ya autenticado
+      List<SigninProfileRow> profile = userRepository.findSigninProfile(userDetails.getId());
+      if (profile.isEmpty()) {
+        throw new RuntimeException("Error: Usuario no encontrado.");
       }
+
+      String careerName = profile.get(0).getCareerName();
+      String departmentCareer = profile.get(0).getDepartmentName();
+
       List<String> roles = userDetails.getAuthorities().stream()
               .map(item -> item.getAuthority())
               .collect(Collectors.toList());
 
-    // Obtener las inscripciones (nombres de eventos)
-    List<String> inscriptions = user.getInscriptions().stream()
-            .map(inscription -> inscription.getEvent().getName()) // Obtener el nombre del evento
-            .collect(Collectors.toList());
+      // Obtener las inscripciones (nombres de eventos)
+      List<String> inscriptions = profile.stream()
+              .map(SigninProfileRow::getEventName)
+              .filter(Objects::nonNull)
+              .collect(Collectors.toList());
 
       return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, jwtCookie.toString())
               .body(new UserInfoResponse(userDetails.getId(),
@@ -96,19 +132,21 @@ public class AuthController {
   }
 
   @PostMapping("/signup")
-  public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
-    if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-      return ResponseEntity.badRequest().body(new MessageResponse("Error: Username is already taken!"));
+  public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+    if (!userAvailabilityService.isUsernameAvailable(signUpRequest.getUsername())) {
+      return CompletableFuture.completedFuture(
+              ResponseEntity.badRequest().body(new MessageResponse("Error: Username is already taken!")));
     }
 
-    if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-      return ResponseEntity.badRequest().body(new MessageResponse("Error: Email is already in use!"));
+    if (!userAvailabilityService.isEmailAvailable(signUpRequest.getEmail())) {
+      return CompletableFuture.completedFuture(
+              ResponseEntity.badRequest().body(new MessageResponse("Error: Email is already in use!")));
     }
 
-    // Create new user's account
+    // Create new user's account; the password is hashed later on the hashing pool
     User user = new User(signUpRequest.getUsername(),
             signUpRequest.getEmail(),
-            encoder.encode(signUpRequest.getPassword()));
+            null);
 
     Set<String> strRoles = signUpRequest.getRole();
     Set<Role> roles = new HashSet<>();
@@ -154,18 +192,71 @@ public class AuthController {
               .orElseThrow(() -> new RuntimeException("Error: Career is not found."));
       user.setCareer(career);
     }
-    userRepository.save(user);
 
-    return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
+    CompletableFuture<String> passwordHash;
+    try {
+      passwordHash = passwordHashingService.encode(signUpRequest.getPassword());
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.completedFuture(hashingUnavailable());
+    }
+
+    // El INSERT no ocupa el hilo de hashing
+    return passwordHash.thenApplyAsync(hash -> {
+      user.setPassword(hash);
+      try {
+        userRepository.save(user);
+      } catch (DataIntegrityViolationException e) {
+        // Registro concurrente con el mismo username/email: decide la restricción única
+        return ResponseEntity.badRequest().body(new MessageResponse("Error: Username or email is already in use!"));
+      }
+      userAvailabilityService.register(user.getUsername(), user.getEmail());
+      return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
+    }, requestExecutor);
+  }
+
+  @GetMapping("/availability")
+  public ResponseEntity<?> checkAvailability(@RequestParam(required = false) String username,
+                                             @RequestParam(required = false) String email) {
+    if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+      return ResponseEntity.badRequest().body(new MessageResponse("Error: username or email is required."));
+    }
+
+    Boolean usernameAvailable = username != null && !username.isBlank()
+            ? userAvailabilityService.isUsernameAvailable(username) : null;
+    Boolean emailAvailable = email != null && !email.isBlank()
+            ? userAvailabilityService.isEmailAvailable(email) : null;
+    return ResponseEntity.ok(new AvailabilityResponse(usernameAvailable, emailAvailable));
   }
 
   @PostMapping("/signout")
-  public ResponseEntity<?> logoutUser() {
+  public ResponseEntity<?> logoutUser(HttpServletRequest request) {
+    // Revocar el token actual para que una copia del cookie deje de ser válida
+    String jwt = jwtUtils.getJwtFromCookies(request);
+    Claims claims = jwt != null ? jwtUtils.verifyJwtToken(jwt) : null;
+    if (claims != null) {
+      tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+    }
+
     ResponseCookie cookie = jwtUtils.getCleanJwtCookie();
     return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, cookie.toString())
             .body(new MessageResponse("You've been signed out!"));
   }
 
+  // Credenciales inválidas y demás errores siguen su curso: AuthEntryPointJwt responde el 401
+  private ResponseEntity<?> signinFailed(Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    if (cause instanceof RejectedExecutionException) {
+      return hashingUnavailable();
+    }
+    throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+  }
+
+  private ResponseEntity<?> hashingUnavailable() {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(new MessageResponse("Error: Too many authentication requests, please retry shortly."));
+  }
+
   
 
 }
\ No newline at end of file
@@ -1,13 +1,14 @@
 package com.tecup.backend.controllers;
 
 import com.tecup.backend.models.Career;
+import com.tecup.backend.models.ERole;
 import com.tecup.backend.payload.repository.CareerRepository;
 import com.tecup.backend.payload.repository.DepartmentRepository;
+import com.tecup.backend.security.authorization.AllowedRoles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,7 +28,7 @@ public class CareerController {
 
     //Para test
     @GetMapping("/all")
-    @PreAuthorize("hasRole('USER') or hasRole('ORGANIZADOR') or hasRole('ADMIN') or hasRole('JURADO')")
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
     public List<Career> listarCareers() {
         logger.info("Para usuarios logeados.");
         return careerRepository.findAll();
@@ -35,7 +36,7 @@ public class CareerController {
 
     // Crear una nueva carrera
     @PostMapping("/create")
-    @PreAuthorize("hasRole('ADMIN')")
+    @AllowedRoles(ERole.ROLE_ADMIN)
     public ResponseEntity<?> createCareer(@RequestBody Career career) {
         logger.info("Creando una nueva carrera: {}", career.getName());
 
@@ -55,7 +56,7 @@ public class CareerController {
 
     // Actualizar una carrera existente
     @PutMapping("/update/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @AllowedRoles(ERole.ROLE_ADMIN)
     public ResponseEntity<?> updateCareer(@PathVariable("id") Long id, @RequestBody Career updatedCareer) {
         logger.info("Actualizando la carrera con ID: {}", id);
 
@@ -81,7 +82,7 @@ public class CareerController {
 
     // Eliminar una carrera por ID
     @DeleteMapping("/delete/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @AllowedRoles(ERole.ROLE_ADMIN)
     public ResponseEntity<?> deleteCareer(@PathVariable("id") Long id) {
         logger.info("Eliminando la carrera con ID: {}", id);
 
@@ -2,12 +2,13 @@ package com.tecup.backend.controllers;
 
 import com.tecup.backend.models.Career;
 import com.tecup.backend.models.Department;
+import com.tecup.backend.models.ERole;
 import com.tecup.backend.payload.repository.DepartmentRepository;
+import com.tecup.backend.security.authorization.AllowedRoles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -23,7 +24,7 @@ public class DepartmentController {
 
     //para test
     @GetMapping("/all")
-    @PreAuthorize("hasRole('USER') or hasRole('ORGANIZADOR') or hasRole('ADMIN') or hasRole('JURADO')")
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
     public List<Department> listarDepartments() {
         logger.info("Para usuarios logeados.");
         return departmentRepository.findAll();
@@ -31,7 +32,7 @@ public class DepartmentController {
 
     // Crear un nuevo departamento
     @PostMapping("/create")
-    @PreAuthorize("hasRole('ADMIN')")
+    @AllowedRoles(ERole.ROLE_ADMIN)
     public ResponseEntity<?> createDepartment(@RequestBody Department department) {
         logger.info("Creando un nuevo departamento: {}", department.getName());
 
@@ -46,7 +47,7 @@ public class DepartmentController {
 
     // Actualizar un departamento existente
     @PutMapping("/update/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @AllowedRoles(ERole.ROLE_ADMIN)
     public ResponseEntity<?> updateDepartment(@PathVariable("id") Long id, @RequestBody Department updatedDepartment) {
         logger.info("Actualizando el departamento con ID: {}", id);
 
@@ -65,7 +66,7 @@ public class DepartmentController {
 
     // Eliminar un departamento por ID
     @DeleteMapping("/delete/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @AllowedRoles(ERole.ROLE_ADMIN)
     public ResponseEntity<?> deleteDepartment(@PathVariable("id") Long id) {
         logger.info("Eliminando el departamento con ID: {}", id);
 
@@ -1,26 +1,57 @@
 package com.tecup.backend.controllers;
 
 import com.tecup.backend.models.Department;
+import com.tecup.backend.models.ERole;
 import com.tecup.backend.models.Event;
 import com.tecup.backend.models.GroupEvent;
 import com.tecup.backend.models.User;
 import com.tecup.backend.payload.repository.DepartmentRepository;
 import com.tecup.backend.payload.repository.EventRepository;
 import com.tecup.backend.payload.repository.GroupEventRepository;
+import com.tecup.backend.payload.repository.JuryRepository;
 import com.tecup.backend.payload.repository.UserRepository;
 import com.tecup.backend.payload.request.EventRequest;
+import com.tecup.backend.payload.response.EventDeletionResponse;
+import com.tecup.backend.payload.response.EventDetailResponse;
+import com.tecup.backend.payload.response.EventImageResponse;
+import com.tecup.backend.payload.response.EventJuryResponse;
+import com.tecup.backend.payload.response.EventPageResponse;
 import com.tecup.backend.payload.response.EventResponse;
+import com.tecup.backend.payload.response.GroupOccupancyResponse;
 import com.tecup.backend.payload.response.MessageResponse;
+import com.tecup.backend.security.authorization.AllowedRoles;
+import com.tecup.backend.services.EventCatalogCache;
+import com.tecup.backend.services.EventDeletionService;
+import com.tecup.backend.services.EventImageStorage;
+import com.tecup.backend.services.EventLifecycleService;
+import com.tecup.backend.services.EventSearchIndex;
+import com.tecup.backend.services.InscriptionService;
+import com.tecup.backend.util.KeysetCursor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -42,24 +73,146 @@ public class EventController {
     @Autowired
     private GroupEventRepository groupEventRepository;
 
-    // Obtener todos los eventos
+    @Autowired
+    private JuryRepository juryRepository;
+
+    @Autowired
+    private EventCatalogCache eventCatalogCache;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private EventImageStorage eventImageStorage;
+
+    @Autowired
+    private EventDeletionService eventDeletionService;
+
+    @Autowired
+    private EventLifecycleService eventLifecycleService;
+
+    @Autowired
+    private InscriptionService inscriptionService;
+
+    @Value("${bezkoder.app.eventSearchLimit:20}")
+    private int defaultSearchLimit;
+
+    @Value("${bezkoder.app.eventPageSize:20}")
+    private int defaultPageSize;
+
+    @Value("${bezkoder.app.eventPageMaxSize:100}")
+    private int maxPageSize;
+
+    // Obtener todos los eventos desde el catálogo en memoria; 304 si el ETag del cliente sigue vigente
     @GetMapping("/all")
-    @PreAuthorize("hasRole('USER') or hasRole('ORGANIZADOR') or hasRole('ADMIN') or hasRole('JURADO')")
-    public List<EventResponse> getAllEvents() {
-        return eventRepository.findAll().stream().map(event ->
-                new EventResponse(
-                        event.getId(),
-                        event.getName(),
-                        event.getDescription(),
-                        event.getPlace(),
-                        event.getImg_event(),
-                        event.getOrganizador_id() != null ? event.getOrganizador_id().getUsername() : "No Organizador"
-                )
-        ).collect(Collectors.toList());
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
+    public ResponseEntity<List<EventResponse>> getAllEvents(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (eventCatalogCache.isNotModified(ifNoneMatch)) {
+            return notModified();
+        }
+        EventCatalogCache.Snapshot catalog = eventCatalogCache.catalog();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(catalog.getETag())
+                .body(catalog.getEvents());
+    }
+
+    // Catálogo paginado por keyset ordenado por (fecha de inicio, id)
+    @GetMapping("/page")
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
+    public ResponseEntity<?> getEventPage(@RequestParam(required = false) Integer size,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Cualquier página cambia solo cuando cambia el catálogo
+        if (eventCatalogCache.isNotModified(ifNoneMatch)) {
+            return notModified();
+        }
+        String etag = eventCatalogCache.currentETag();
+        int pageSize = pageSize(size);
+
+        KeysetCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: Cursor inválido."));
+        }
+
+        // Se pide una fila extra para saber si hay página siguiente sin contar
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<EventResponse> rows;
+        if (after == null) {
+            rows = eventRepository.findResponsePage(limit);
+        } else if (after.getDate() == null) {
+            rows = eventRepository.findResponsePageAfterUndated(after.getId(), limit);
+        } else {
+            rows = eventRepository.findResponsePageAfter(after.getDate(), after.getId(), limit);
+        }
+
+        EventImageStorage.withThumbnails(rows);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            EventResponse last = rows.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getStartDate(), last.getId()).encode();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(new EventPageResponse(rows, nextCursor));
+    }
+
+    // Próximos eventos (aún no comienzan), por fecha de inicio
+    @GetMapping("/upcoming")
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
+    public List<EventResponse> getUpcomingEvents(@RequestParam(required = false) Integer size) {
+        return EventImageStorage.withThumbnails(eventRepository.findUpcomingResponses(new Date(), PageRequest.of(0, pageSize(size))));
+    }
+
+    // Eventos en curso, los que terminan antes primero
+    @GetMapping("/ongoing")
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
+    public List<EventResponse> getOngoingEvents(@RequestParam(required = false) Integer size) {
+        return EventImageStorage.withThumbnails(eventRepository.findOngoingResponses(new Date(), PageRequest.of(0, pageSize(size))));
+    }
+
+    // Eventos cerrados, los más recientes primero; se sirven desde una instantánea inmutable
+    @GetMapping("/finished")
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
+    public ResponseEntity<List<EventResponse>> getFinishedEvents(
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (eventCatalogCache.isNotModified(ifNoneMatch)) {
+            return notModified();
+        }
+        String etag = eventCatalogCache.currentETag();
+        List<EventResponse> closed = eventLifecycleService.closedEvents();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(closed.subList(0, Math.min(pageSize(size), closed.size())));
+    }
+
+    // Búsqueda por texto sobre nombre, descripción y lugar (sin tildes, por prefijo, ordenada por relevancia)
+    @GetMapping("/search")
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
+    public ResponseEntity<?> searchEvents(@RequestParam String q,
+                                          @RequestParam(required = false) Integer limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: La búsqueda no puede estar vacía."));
+        }
+        int maxResults = limit == null ? defaultSearchLimit : Math.max(1, Math.min(limit, maxPageSize));
+
+        EventCatalogCache.Snapshot catalog = eventCatalogCache.catalog();
+        List<EventResponse> results = eventSearchIndex.search(q, maxResults).stream()
+                .map(catalog::getEvent)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(results);
     }
 
     @PostMapping("/add")
-    @PreAuthorize("hasRole('ORGANIZADOR')")
+    @AllowedRoles(ERole.ROLE_ORGANIZADOR)
     public ResponseEntity<?> addEvent(@Valid @RequestBody EventRequest eventRequest) {
         logger.info("Creando un nuevo evento: {}", eventRequest.getName());
 
@@ -101,12 +254,14 @@ public class EventController {
                 .collect(Collectors.toList());
 
         groupEventRepository.saveAll(groupEvents); // Guardar los grupos
+        eventCatalogCache.invalidate();
+        eventSearchIndex.index(savedEvent);
 
         return ResponseEntity.ok(new MessageResponse("Evento creado exitosamente con " + groupEvents.size() + " grupos."));
     }
 
     @PutMapping("/update/{eventId}")
-    @PreAuthorize("hasRole('ORGANIZADOR') or hasRole('ADMIN')")
+    @AllowedRoles({ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN})
     public ResponseEntity<?> updateEvent(@PathVariable Long eventId, @Valid @RequestBody EventRequest eventRequest) {
         // Buscar el evento por ID
         Optional<Event> eventOptional = eventRepository.findById(eventId);
@@ -132,65 +287,132 @@ public class EventController {
         event.setEnd_date(eventRequest.getEndDate());
         event.setMax_participants_group(eventRequest.getMax_participants_group());
         event.setImg_event(eventRequest.getImgEvent());
+        // Si se extiende la fecha de fin de un evento cerrado, vuelve a abrirse
+        event.setStatusEvent(!eventRequest.getEndDate().before(new Date()));
 
-        // Guardar cambios en el repositorio
-        eventRepository.save(event);
+        // Guardar cambios; si el cupo aumenta, la lista de espera de cada grupo ocupa primero los cupos nuevos
+        int promoted = inscriptionService.saveEvent(event);
+        if (promoted > 0) {
+            logger.info("Evento {}: {} usuarios promovidos de la lista de espera", eventId, promoted);
+        }
+        eventCatalogCache.invalidate();
+        eventSearchIndex.index(event);
 
         return ResponseEntity.ok(new MessageResponse("Evento actualizado exitosamente."));
     }
 
     @DeleteMapping("/delete/{eventId}")
-    @PreAuthorize("hasRole('ORGANIZADOR')")
+    @AllowedRoles(ERole.ROLE_ORGANIZADOR)
     public ResponseEntity<?> deleteEvent(@PathVariable Long eventId) {
         logger.info("Intentando eliminar el evento con ID: {}", eventId);
 
-        // Buscar el evento por su ID
-        Optional<Event> eventOptional = eventRepository.findById(eventId);
-        if (eventOptional.isEmpty()) {
+        if (!eventRepository.existsById(eventId)) {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: Evento no encontrado."));
         }
 
-        Event event = eventOptional.get();
+        // Puntajes, inscripciones, jurados, grupos y evento con DELETE por conjunto en una transacción
+        EventDeletionResponse deleted = eventDeletionService.delete(eventId);
+        eventCatalogCache.invalidate();
+        eventSearchIndex.remove(eventId);
+        eventImageStorage.delete(eventId);
+        logger.info("Evento eliminado exitosamente.");
+
+        return ResponseEntity.ok(deleted);
+    }
 
-        // Eliminar grupos asociados al evento
-        List<GroupEvent> groupsToDelete = groupEventRepository.findByEvent(event);
-        if (!groupsToDelete.isEmpty()) {
-            groupEventRepository.deleteAll(groupsToDelete);
-            logger.info("Grupos asociados al evento eliminados.");
+    // Detalle completo del evento: datos, grupos con ocupación y jurados (catálogo en memoria + 2 consultas)
+    @GetMapping("/{id}/detail")
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
+    public ResponseEntity<?> getEventDetail(@PathVariable Long id) {
+        EventResponse event = eventCatalogCache.catalog().getEvent(id);
+        if (event == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: Evento no encontrado."));
         }
 
-        // Eliminar el evento
-        eventRepository.delete(event);
-        logger.info("Evento eliminado exitosamente.");
+        List<GroupOccupancyResponse> groups = groupEventRepository.findOccupancyByEventId(id);
+        List<EventJuryResponse> juries = juryRepository.findMembersByEventId(id);
+        return ResponseEntity.ok(new EventDetailResponse(event, groups, juries));
+    }
 
-        return ResponseEntity.ok(new MessageResponse("Evento y sus grupos asociados eliminados exitosamente."));
+    // Subir la imagen del evento; se guardan la original y sus miniaturas
+    @PostMapping(value = "/{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @AllowedRoles({ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN})
+    public ResponseEntity<?> uploadEventImage(@PathVariable Long id, @RequestParam("file") MultipartFile file) throws IOException {
+        if (!eventRepository.existsById(id)) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: Evento no encontrado."));
+        }
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: El archivo está vacío."));
+        }
+
+        // La URL se guarda antes de que el almacenamiento borre la versión anterior
+        String imageUrl;
+        try {
+            imageUrl = eventImageStorage.replace(id, file.getBytes(), url -> {
+                if (eventRepository.updateImage(id, url) == 0) {
+                    throw new IllegalArgumentException("Evento no encontrado.");
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+        eventCatalogCache.invalidate();
+        logger.info("Imagen del evento {} actualizada: {}", id, imageUrl);
+
+        Map<String, String> thumbnails = new LinkedHashMap<>();
+        EventImageStorage.THUMBNAIL_WIDTHS.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(variant -> thumbnails.put(variant.getKey(), EventImageStorage.variantUrl(imageUrl, variant.getKey())));
+        return ResponseEntity.ok(new EventImageResponse(imageUrl, thumbnails));
+    }
+
+    // Servir una variante de la imagen; la URL incluye la versión, por eso se cachea como inmutable
+    @GetMapping("/{id}/image/{version}/{fileName:.+}")
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
+    public void getEventImage(@PathVariable Long id, @PathVariable String version, @PathVariable String fileName,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = eventImageStorage.resolve(id, version, fileName);
+        if (file == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        eventImageStorage.serve(file, "\"" + version + "-" + fileName + "\"", request, response);
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('USER') or hasRole('ORGANIZADOR') or hasRole('ADMIN') or hasRole('JURADO')")
-    public ResponseEntity<?> getEventById(@PathVariable Long id) {
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
+    public ResponseEntity<?> getEventById(@PathVariable Long id,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.info("Buscando detalles del evento con ID: {}", id);
 
-        // Buscar el evento por su ID
-        Optional<Event> eventOptional = eventRepository.findById(id);
+        // El ETag es el del catálogo completo: si no cambió, el evento tampoco
+        if (eventCatalogCache.isNotModified(ifNoneMatch)) {
+            return notModified();
+        }
 
-        if (eventOptional.isEmpty()) {
+        // Buscar el evento en el catálogo en memoria
+        EventCatalogCache.Snapshot catalog = eventCatalogCache.catalog();
+        EventResponse eventResponse = catalog.getEvent(id);
+
+        if (eventResponse == null) {
             logger.error("Evento con ID {} no encontrado.", id);
             return ResponseEntity.badRequest().body(new MessageResponse("Error: Evento no encontrado."));
         }
 
-        Event event = eventOptional.get();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(catalog.getETag())
+                .body(eventResponse);
+    }
+
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
 
-        // Crear la respuesta
-        EventResponse eventResponse = new EventResponse(
-                event.getId(),
-                event.getName(),
-                event.getDescription(),
-                event.getPlace(),
-                event.getImg_event(),
-                event.getOrganizador_id() != null ? event.getOrganizador_id().getUsername() : "No Organizador"
-        );
-
-        return ResponseEntity.ok(eventResponse);
+    private <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(CacheControl.noCache())
+                .eTag(eventCatalogCache.currentETag())
+                .build();
     }
 }
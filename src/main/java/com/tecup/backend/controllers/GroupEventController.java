@@ -1,5 +1,6 @@
 package com.tecup.backend.controllers;
 
+import com.tecup.backend.models.ERole;
 import com.tecup.backend.models.GroupEvent;
 import com.tecup.backend.models.Jury;
 import com.tecup.backend.models.Score;
@@ -9,11 +10,11 @@ import com.tecup.backend.payload.response.GroupEventResponse;
 import com.tecup.backend.payload.response.MessageResponse;
 import com.tecup.backend.payload.response.ScoreResponse;
 import com.tecup.backend.payload.response.ScoreTopResponse;
+import com.tecup.backend.security.authorization.AllowedRoles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -33,7 +34,7 @@ public class GroupEventController {
     private GroupEventRepository groupEventRepository;
 
     @GetMapping("/all")
-    @PreAuthorize("hasRole('USER') or hasRole('ORGANIZADOR') or hasRole('ADMIN') or hasRole('JURADO')")
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
     public ResponseEntity<List<GroupEventResponse>> getAllGroupEvents() {
         List<GroupEventResponse> responses = groupEventRepository.findAll().stream()
                 .map(groupEvent -> new GroupEventResponse(
@@ -1,24 +1,54 @@
 package com.tecup.backend.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tecup.backend.models.*;
 import com.tecup.backend.payload.repository.*;
+import com.tecup.backend.payload.request.InscriptionFilterRequest;
 import com.tecup.backend.payload.request.InscriptionRequest;
+import com.tecup.backend.payload.response.AdmissionTicketResponse;
 import com.tecup.backend.payload.response.InscriptionResponse;
+import com.tecup.backend.payload.response.UserInscriptionResponse;
+import com.tecup.backend.payload.response.WaitlistPositionResponse;
+import com.tecup.backend.security.authorization.AllowedRoles;
+import com.tecup.backend.services.EventCatalogCache;
+import com.tecup.backend.services.IdempotencyStore;
+import com.tecup.backend.services.InscriptionAdmissionQueue;
+import com.tecup.backend.services.InscriptionExportService;
+import com.tecup.backend.services.InscriptionQueryService;
+import com.tecup.backend.services.InscriptionService;
+import com.tecup.backend.util.KeysetCursor;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
-import java.text.SimpleDateFormat;
-import java.util.Set;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.stream.Collectors;
 import java.security.Principal;
 
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -37,117 +67,286 @@ public class InscriptionController {
     @Autowired
     private GroupEventRepository groupEventRepository;
 
+    @Autowired
+    private InscriptionService inscriptionService;
+
+    @Autowired
+    private InscriptionAdmissionQueue admissionQueue;
+
+    @Autowired
+    private InscriptionQueryService inscriptionQueryService;
+
+    @Autowired
+    private InscriptionExportService inscriptionExportService;
+
+    @Autowired
+    private EventCatalogCache eventCatalogCache;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${bezkoder.app.admissionMaxWaitSeconds:30}")
+    private int maxTicketWaitSeconds;
+
+    @Value("${bezkoder.app.inscriptionPageSize:50}")
+    private int defaultPageSize;
+
+    @Value("${bezkoder.app.inscriptionPageMaxSize:500}")
+    private int maxPageSize;
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
-    //este se eliminara
+
+
+    // Listado filtrado y paginado por keyset; el cursor de la página siguiente va en X-Next-Cursor
     @GetMapping("/all")
-    @PreAuthorize("hasRole('USER') or hasRole('ORGANIZADOR') or hasRole('ADMIN') or hasRole('JURADO')")
-    public List<InscriptionResponse> getAllInscriptions() {
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
+    public ResponseEntity<?> getAllInscriptions(@ModelAttribute InscriptionFilterRequest filter,
+                                                @RequestParam(required = false) Integer size,
+                                                @RequestParam(required = false) String cursor) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+
+        KeysetCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: Cursor inválido.");
+        }
 
+        // Se pide una fila extra para saber si hay página siguiente sin contar
+        List<InscriptionResponse> rows = inscriptionQueryService.page(filter, after, pageSize + 1);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            InscriptionResponse last = rows.get(pageSize - 1);
+            response.header(NEXT_CURSOR_HEADER, new KeysetCursor(last.getFecha(), last.getId()).encode());
+        }
+        return response.body(rows);
+    }
 
-        return inscriptionRepository.findAll().stream().map(inscription -> {
+    // Listado completo con los mismos filtros, escrito como arreglo JSON a medida que se leen las filas
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @AllowedRoles({ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN})
+    public ResponseEntity<StreamingResponseBody> streamInscriptions(@ModelAttribute InscriptionFilterRequest filter) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                long rows = inscriptionQueryService.stream(filter, inscription -> {
+                    try {
+                        generator.writeObject(inscription);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                logger.debug("Listado de inscripciones enviado por streaming: {} filas", rows);
+            } catch (UncheckedIOException e) {
+                // El cliente cerró la conexión; el cursor ya se cerró al salir de la transacción
+                logger.warn("Streaming de inscripciones interrumpido: {}", e.getMessage());
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 
-            return new InscriptionResponse(
-                    inscription.getId(), // Incluir el ID de la inscripción
-                    inscription.getUser().getUsername(),
-                    inscription.getEvent().getName(),
-                    inscription.getFecha_inscripcion().toString()
-            );
-        }).collect(Collectors.toList());
+    // Participantes de un evento en CSV (por defecto) o XLSX, escritos mientras se leen de la base de datos
+    @GetMapping("/export/{eventId}")
+    @AllowedRoles({ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN})
+    public ResponseEntity<?> exportInscriptions(@PathVariable Long eventId,
+                                                @RequestParam(defaultValue = "csv") String format) {
+        boolean xlsx = "xlsx".equalsIgnoreCase(format);
+        if (!xlsx && !"csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().body("Error: Formato no soportado, use csv o xlsx.");
+        }
+        if (!eventRepository.existsById(eventId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: Evento especificado no encontrado.");
+        }
+
+        // Se escribe en el executor de MVC asíncrono: el hilo de la petición queda libre
+        StreamingResponseBody body = out -> {
+            try {
+                if (xlsx) {
+                    inscriptionExportService.writeXlsx(eventId, out);
+                } else {
+                    inscriptionExportService.writeCsv(eventId, out);
+                }
+            } catch (IOException e) {
+                logger.warn("Exportación del evento {} interrumpida: {}", eventId, e.getMessage());
+            }
+        };
+
+        String fileName = "inscripciones-evento-" + eventId + (xlsx ? ".xlsx" : ".csv");
+        return ResponseEntity.ok()
+                .contentType(xlsx
+                        ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                        : new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
     }
 
 
     //Para ver las incripciones las isncripciones que tiene el usuairo logeado (debe de tener el rol USER)
     @GetMapping("/user-inscriptions")
-    @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<?> getUserInscriptions() {
+    @AllowedRoles(ERole.ROLE_USER)
+    // when = upcoming | past filtra por la fecha de fin del evento; sin él se devuelven todas
+    public ResponseEntity<?> getUserInscriptions(@RequestParam(required = false) String when, WebRequest request) {
         // Obtener el usuario autenticado
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Optional<User> user = userRepository.findByUsername(username);
-
-        if (user.isEmpty()) {
-            return ResponseEntity.badRequest().body("Error: Usuario autenticado no encontrado.");
+        boolean upcoming = "upcoming".equalsIgnoreCase(when);
+        boolean past = "past".equalsIgnoreCase(when);
+        if (when != null && !upcoming && !past) {
+            return ResponseEntity.badRequest().body("Error: Filtro no soportado, use upcoming o past.");
         }
 
-        // Obtener las inscripciones del usuario autenticado
-        Set<Inscription> userInscriptions = user.get().getInscriptions();
-
-        // Mapear las inscripciones a InscriptionResponse
-        List<InscriptionResponse> inscriptionResponses = userInscriptions.stream()
-                .map(inscription -> new InscriptionResponse(
-                        inscription.getId(),
-                        inscription.getUser().getUsername(),
-                        inscription.getEvent().getName(),
-                        new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(inscription.getFecha_inscripcion())
-                ))
-                .collect(Collectors.toList());
+        // Una agregación barata decide el 304 antes de armar el panel
+        Date now = new Date();
+        InscriptionRepository.DashboardStamp stamp = inscriptionRepository.findDashboardStamp(username, now);
+        long lastModified = stamp.getLastInscription() != null ? stamp.getLastInscription().getTime() : -1;
+        // El catálogo entra en el ETag: editar un evento cambia su nombre o fechas en el panel
+        String etag = "\"ins-" + stamp.getTotal() + "-" + lastModified + "-" + stamp.getFinished() + "-"
+                + eventCatalogCache.getVersion() + "\"";
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
 
-        return ResponseEntity.ok(inscriptionResponses);
+        List<UserInscriptionResponse> inscriptions;
+        if (upcoming) {
+            inscriptions = inscriptionRepository.findDashboardUpcoming(username, now);
+        } else if (past) {
+            inscriptions = inscriptionRepository.findDashboardPast(username, now);
+        } else {
+            inscriptions = inscriptionRepository.findDashboard(username);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(inscriptions);
     }
 
 
 
     @PostMapping("/add")
-    @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<?> createInscription(@RequestBody InscriptionRequest inscriptionRequest) {
+    @AllowedRoles(ERole.ROLE_USER)
+    public ResponseEntity<?> createInscription(@RequestBody InscriptionRequest inscriptionRequest,
+                                               @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
         // Obtener el usuario autenticado desde el contexto de seguridad
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Optional<User> user = userRepository.findByUsername(username);
 
-        if (user.isEmpty()) {
-            return ResponseEntity.badRequest().body("Error: Usuario autenticado no encontrado.");
-        }
+        // Los reintentos con la misma clave reciben la respuesta original sin volver a la base de datos
+        return idempotencyStore.execute(username, "inscription", idempotencyKey,
+                inscriptionRequest.getEventId() + ":" + inscriptionRequest.isWaitlist(),
+                () -> createInscription(username, inscriptionRequest));
+    }
 
-        // Validar el evento especificado en la solicitud
-        Optional<Event> event = eventRepository.findById(inscriptionRequest.getEventId());
-        if (event.isEmpty()) {
-            return ResponseEntity.badRequest().body("Error: Evento especificado no encontrado.");
+    private ResponseEntity<?> createInscription(String username, InscriptionRequest inscriptionRequest) {
+        // Validaciones, reserva atómica del cupo e inserción en una sola transacción
+        InscriptionService.Outcome outcome;
+        try {
+            outcome = inscriptionService.create(username, inscriptionRequest.getEventId(), inscriptionRequest.isWaitlist());
+        } catch (DataIntegrityViolationException e) {
+            // Inscripción concurrente o repetida: decide la restricción única (user_id, event_id)
+            outcome = InscriptionService.Outcome.ALREADY_INSCRIBED;
         }
-
-        // Validar si el usuario ya está inscrito en el evento
-        boolean alreadyInscribed = inscriptionRepository.existsByUserAndEvent(user.get(), event.get());
-        if (alreadyInscribed) {
-            return ResponseEntity.badRequest().body("Error: El usuario ya está inscrito en este evento.");
+        if (outcome == InscriptionService.Outcome.WAITLISTED) {
+            // 202: el usuario quedó en espera; la posición se consulta en /waitlist
+            return ResponseEntity.accepted().body(inscriptionService.waitlistPositions(username).stream()
+                    .filter(position -> position.getEventId().equals(inscriptionRequest.getEventId()))
+                    .findFirst()
+                    .orElse(null));
         }
-
-        // Obtener el departamento asociado a la carrera del usuario
-        if (user.get().getCareer() == null || user.get().getCareer().getDepartment_id() == null) {
-            return ResponseEntity.badRequest().body("Error: El usuario no tiene un departamento asociado.");
+        if (outcome == InscriptionService.Outcome.ALREADY_INSCRIBED || outcome == InscriptionService.Outcome.ALREADY_WAITLISTED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(outcome.getMessage());
         }
-        Department userDepartment = user.get().getCareer().getDepartment_id();
-
-        // Buscar el grupo correspondiente basado en el evento y el departamento del usuario
-        Optional<GroupEvent> groupEvent = groupEventRepository.findByEventAndDepartment(event.get(), userDepartment);
-        if (groupEvent.isEmpty()) {
-            return ResponseEntity.badRequest().body("Error: No se encontró un grupo para este evento y departamento.");
+        if (outcome != InscriptionService.Outcome.CREATED) {
+            return ResponseEntity.badRequest().body(outcome.getMessage());
         }
 
-        // Validar si el grupo tiene espacio disponible
-        int currentGroupParticipants = groupEvent.get().getInscriptions().size();
-        int maxParticipantsGroup = event.get().getMax_participants_group();
+        // Construir la respuesta
+        return ResponseEntity.ok(outcome.getMessage());
+    }
+
+
+    // Listas de espera del usuario autenticado con su posición actual
+    @GetMapping("/waitlist")
+    @AllowedRoles(ERole.ROLE_USER)
+    public List<WaitlistPositionResponse> getUserWaitlist() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return inscriptionService.waitlistPositions(username);
+    }
+
+    // Modo ráfaga: la solicitud recibe un ticket (202) y se procesa en la cola de admisión del evento
+    @PostMapping("/queue")
+    @AllowedRoles(ERole.ROLE_USER)
+    public ResponseEntity<?> enqueueInscription(@Valid @RequestBody InscriptionRequest inscriptionRequest,
+                                                @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        // Un reintento con la misma clave recibe el mismo ticket en lugar de encolar otro
+        return idempotencyStore.execute(username, "inscription-queue", idempotencyKey,
+                inscriptionRequest.getEventId() + ":" + inscriptionRequest.isWaitlist(),
+                () -> enqueueInscription(username, inscriptionRequest));
+    }
 
-        if (currentGroupParticipants >= maxParticipantsGroup) {
-            return ResponseEntity.badRequest().body("Error: El grupo ha alcanzado el límite máximo de participantes.");
+    private ResponseEntity<?> enqueueInscription(String username, InscriptionRequest inscriptionRequest) {
+        InscriptionAdmissionQueue.Ticket ticket;
+        try {
+            ticket = admissionQueue.submit(username, inscriptionRequest.getEventId(), inscriptionRequest.isWaitlist());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "2")
+                    .body("Error: Demasiadas solicitudes para este evento, intente nuevamente en unos segundos.");
         }
 
-        // Crear la inscripción
-        Inscription inscription = new Inscription();
-        inscription.setUser(user.get()); // Asociar el usuario autenticado
-        inscription.setEvent(event.get()); // Asociar el evento
-        inscription.setGroup(groupEvent.get()); // Asociar el grupo
-        inscription.setFecha_inscripcion(new Date()); // Establecer la fecha actual
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/inscriptions/queue/" + ticket.getId()))
+                .body(ticketResponse(ticket));
+    }
 
-        // Guardar la inscripción
-        inscriptionRepository.save(inscription);
+    // Consulta del ticket; con wait > 0 espera (long-poll) hasta que se resuelva o venza el tiempo
+    @GetMapping("/queue/{ticketId}")
+    @AllowedRoles(ERole.ROLE_USER)
+    public DeferredResult<ResponseEntity<?>> getInscriptionTicket(@PathVariable String ticketId,
+                                                                  @RequestParam(defaultValue = "0") int wait) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        InscriptionAdmissionQueue.Ticket ticket = admissionQueue.find(ticketId, username);
 
-        // Construir la respuesta
-        return ResponseEntity.ok("Inscripción creada exitosamente.");
+        DeferredResult<ResponseEntity<?>> deferred;
+        if (ticket == null) {
+            deferred = new DeferredResult<>();
+            deferred.setResult(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: Ticket no encontrado o expirado."));
+            return deferred;
+        }
+
+        int waitSeconds = Math.max(0, Math.min(wait, maxTicketWaitSeconds));
+        if (waitSeconds == 0 || ticket.getResult().isDone()) {
+            deferred = new DeferredResult<>();
+            deferred.setResult(ResponseEntity.ok(ticketResponse(ticket)));
+            return deferred;
+        }
+
+        deferred = new DeferredResult<>(TimeUnit.SECONDS.toMillis(waitSeconds));
+        DeferredResult<ResponseEntity<?>> result = deferred;
+        deferred.onTimeout(() -> result.setResult(ResponseEntity.ok(ticketResponse(ticket))));
+        ticket.getResult().whenComplete((outcome, error) -> result.setResult(ResponseEntity.ok(ticketResponse(ticket))));
+        return deferred;
     }
 
+    private AdmissionTicketResponse ticketResponse(InscriptionAdmissionQueue.Ticket ticket) {
+        CompletableFuture<InscriptionService.Outcome> result = ticket.getResult();
+        if (!result.isDone()) {
+            return new AdmissionTicketResponse(ticket.getId(), ticket.getEventId(), ticket.getStatus().name(),
+                    admissionQueue.position(ticket), null, null);
+        }
+        InscriptionService.Outcome outcome = result.exceptionally(error -> null).join();
+        return new AdmissionTicketResponse(ticket.getId(), ticket.getEventId(), InscriptionAdmissionQueue.Status.DONE.name(),
+                0L, outcome != null ? outcome.name() : "ERROR",
+                outcome != null ? outcome.getMessage() : "Error: No se pudo procesar la inscripción.");
+    }
 
     //Elimina inscripción que selecione el usuario de las inscriociones que tiene
     @DeleteMapping("/delete/{inscriptionId}")
-    @PreAuthorize("hasRole('USER')")
+    @AllowedRoles(ERole.ROLE_USER)
     public ResponseEntity<?> deleteUserInscription(@PathVariable("inscriptionId") long inscriptionId) {
         // Obtener el usuario autenticado
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -168,8 +367,10 @@ public class InscriptionController {
             return ResponseEntity.status(403).body("Error: No tienes permiso para eliminar esta inscripción.");
         }
 
-        // Eliminar la inscripción
-        inscriptionRepository.delete(inscription.get());
+        // Eliminar la inscripción y liberar su cupo; una solicitud repetida ya no encuentra la fila
+        if (!inscriptionService.delete(inscription.get())) {
+            return ResponseEntity.badRequest().body("Error: Inscripción no encontrada.");
+        }
 
         return ResponseEntity.ok("La inscripción ha sido eliminada exitosamente.");
     }
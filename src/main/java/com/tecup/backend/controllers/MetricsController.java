@@ -0,0 +1,73 @@
+package com.tecup.backend.controllers;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tecup.backend.models.ERole;
+import com.tecup.backend.security.authorization.AllowedRoles;
+import com.tecup.backend.security.jwt.JwtUtils;
+import com.tecup.backend.security.jwt.TokenRevocationService;
+import com.tecup.backend.security.services.CachedUserDetailsService;
+import com.tecup.backend.security.services.PasswordHashingService;
+import com.tecup.backend.services.EventCatalogCache;
+import com.tecup.backend.services.IdempotencyStore;
+import com.tecup.backend.services.InscriptionAdmissionQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/metrics")
+@AllowedRoles(ERole.ROLE_ADMIN) // Solo los administradores pueden acceder
+public class MetricsController {
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private CachedUserDetailsService cachedUserDetailsService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private EventCatalogCache eventCatalogCache;
+
+    @Autowired
+    private InscriptionAdmissionQueue inscriptionAdmissionQueue;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    /**
+     * Métricas internas de los caches y pools de la aplicación.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("jwtTokenCache", cacheMetrics(jwtUtils.getTokenCacheStats(), jwtUtils.getTokenCacheSize()));
+        metrics.put("userDetailsCache", cacheMetrics(cachedUserDetailsService.getStats(), cachedUserDetailsService.getSize()));
+        metrics.put("passwordHashing", passwordHashingService.getMetrics());
+        metrics.put("tokenRevocation", tokenRevocationService.getMetrics());
+        metrics.put("eventCatalog", eventCatalogCache.getMetrics());
+        metrics.put("inscriptionAdmission", inscriptionAdmissionQueue.getMetrics());
+        metrics.put("idempotencyKeys", cacheMetrics(idempotencyStore.getStats(), idempotencyStore.getSize()));
+        return ResponseEntity.ok(metrics);
+    }
+
+    static Map<String, Object> cacheMetrics(CacheStats stats, long size) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("size", size);
+        metrics.put("hits", stats.hitCount());
+        metrics.put("misses", stats.missCount());
+        metrics.put("hitRatio", stats.hitRate());
+        metrics.put("evictions", stats.evictionCount());
+        return metrics;
+    }
+}
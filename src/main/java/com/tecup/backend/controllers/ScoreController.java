@@ -6,9 +6,12 @@ import com.tecup.backend.payload.request.ScoreRequest;
 import com.tecup.backend.payload.response.AdminJuryResponse;
 import com.tecup.backend.payload.response.MessageResponse;
 import com.tecup.backend.payload.response.ScoreResponse;
+import com.tecup.backend.security.authorization.AllowedRoles;
+import com.tecup.backend.services.IdempotencyStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,12 +33,23 @@ public class ScoreController {
     @Autowired
     private GroupEventRepository groupEventRepository;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     @PostMapping("/add")
-    @PreAuthorize("hasRole('JURADO')")
-    public ResponseEntity<?> assignScore(@RequestBody ScoreRequest request) {
+    @AllowedRoles(ERole.ROLE_JURADO)
+    public ResponseEntity<?> assignScore(@RequestBody ScoreRequest request,
+                                         @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
         // Obtener el usuario autenticado
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
 
+        // Los reintentos con la misma clave reciben la respuesta original sin volver a la base de datos
+        return idempotencyStore.execute(username, "score", idempotencyKey,
+                request.getGroupId() + ":" + request.getScore(),
+                () -> assignScore(username, request));
+    }
+
+    private ResponseEntity<?> assignScore(String username, ScoreRequest request) {
         // Validar si el usuario es un jurado
         Optional<Jury> juryOptional = juryRepository.findByJuradoUsername(username);
         if (juryOptional.isEmpty()) {
@@ -57,21 +71,19 @@ public class ScoreController {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: No puedes calificar este grupo. El evento no coincide."));
         }
 
-        // Validar que el jurado no haya calificado antes a este grupo
-        Optional<Score> existingScore = scoreRepository.findByJuryAndGroupEvent(jury, group);
-        if (existingScore.isPresent()) {
-            return ResponseEntity.badRequest().body(new MessageResponse("Error: Ya has calificado este grupo."));
-        }
-
-        // Crear el nuevo puntaje
+        // Crear el nuevo puntaje; la restricción única (jury_id, group_event_id) rechaza una segunda calificación
         Score newScore = new Score(jury, group, request.getScore(), new Date());
-        scoreRepository.save(newScore);
+        try {
+            scoreRepository.saveAndFlush(newScore);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse("Error: Ya has calificado este grupo."));
+        }
 
         return ResponseEntity.ok(new MessageResponse("Puntaje asignado exitosamente."));
     }
 
     @GetMapping("/all")
-    @PreAuthorize("hasRole('JURADO')")
+    @AllowedRoles(ERole.ROLE_JURADO)
     public ResponseEntity<?> getAllScores() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         Optional<Jury> juryOptional = juryRepository.findByJuradoUsername(username);
@@ -96,7 +108,7 @@ public class ScoreController {
     }
 
     @GetMapping("/my-scores")
-    @PreAuthorize("hasRole('JURADO')")
+    @AllowedRoles(ERole.ROLE_JURADO)
     public ResponseEntity<?> getMyScores() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         Optional<Jury> juryOptional = juryRepository.findByJuradoUsername(username);
@@ -124,7 +136,7 @@ public class ScoreController {
      * Actualizar un puntaje hecho por el usuario logeado con el rol de JURADO.
      */
     @PutMapping("/update/{scoreId}")
-    @PreAuthorize("hasRole('JURADO')")
+    @AllowedRoles(ERole.ROLE_JURADO)
     public ResponseEntity<?> updateScore(@PathVariable("scoreId") Long scoreId, @RequestBody ScoreRequest request) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         Optional<Jury> juryOptional = juryRepository.findByJuradoUsername(username);
@@ -158,7 +170,7 @@ public class ScoreController {
      * Eliminar un puntaje hecho por el usuario logeado con el rol de JURADO.
      */
     @DeleteMapping("/delete/{scoreId}")
-    @PreAuthorize("hasRole('JURADO')")
+    @AllowedRoles(ERole.ROLE_JURADO)
     public ResponseEntity<?> deleteScore(@PathVariable("scoreId") Long scoreId) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         Optional<Jury> juryOptional = juryRepository.findByJuradoUsername(username);
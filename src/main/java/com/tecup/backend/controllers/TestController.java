@@ -1,11 +1,12 @@
 package com.tecup.backend.controllers;
 
+import com.tecup.backend.models.ERole;
 import com.tecup.backend.models.User;
 import com.tecup.backend.payload.repository.UserRepository;
+import com.tecup.backend.security.authorization.AllowedRoles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -32,25 +33,25 @@ public class TestController {
     return userRepository.findAll();
   }
   @GetMapping("/user")
-  @PreAuthorize("hasRole('USER') or hasRole('ORGANIZADOR') or hasRole('ADMIN') or hasRole('JURADO')")
+  @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
   public String userAccess() {
     return "User Content.";
   }
 
   @GetMapping("/organi")
-  @PreAuthorize("hasRole('ORGANIZADOR')")
+  @AllowedRoles(ERole.ROLE_ORGANIZADOR)
   public String organiAccess() {
     return "Organizador Board.";
   }
 
   @GetMapping("/admin")
-  @PreAuthorize("hasRole('ADMIN')")
+  @AllowedRoles(ERole.ROLE_ADMIN)
   public String adminAccess() {
     return "Admin Board.";
   }
 
   @GetMapping("/jurado")
-  @PreAuthorize("hasRole('JURADO')")
+  @AllowedRoles(ERole.ROLE_JURADO)
   public String juradoAccess() {
     return "Jurado Board.";
   }
@@ -1,8 +1,36 @@
 package com.tecup.backend.models;
 
+import java.util.Collection;
+
 public enum ERole {
     ROLE_USER,
     ROLE_ADMIN,
     ROLE_ORGANIZADOR,
-    ROLE_JURADO
+    ROLE_JURADO;
+
+    // Bit del rol dentro de una máscara de roles (UserDetailsImpl, @AllowedRoles)
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public static int maskOf(ERole... roles) {
+        int mask = 0;
+        for (ERole role : roles) {
+            mask |= role.mask();
+        }
+        return mask;
+    }
+
+    public static int maskOfAuthorities(Collection<String> authorities) {
+        int mask = 0;
+        for (String authority : authorities) {
+            for (ERole role : values()) {
+                if (role.name().equals(authority)) {
+                    mask |= role.mask();
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
 }
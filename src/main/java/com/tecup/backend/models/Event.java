@@ -11,7 +11,14 @@ import java.util.Set;
 @Entity
 @Getter
 @Setter
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        // Orden estable del catálogo paginado por keyset
+        @Index(name = "idx_events_start_date_id", columnList = "start_date, id"),
+        // Eventos en curso (end_date >= ahora)
+        @Index(name = "idx_events_end_date_id", columnList = "end_date, id"),
+        // Cierre masivo y listado de eventos finalizados
+        @Index(name = "idx_events_status_end_date", columnList = "status_event, end_date")
+})
 public class Event {
 
     @Id
@@ -14,7 +14,10 @@ import java.util.Set;
 public class GroupEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "group_events_id")
+    @TableGenerator(name = "group_events_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "group_events",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     private String name;
@@ -30,6 +33,18 @@ public class GroupEvent {
     @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Inscription> inscriptions = new HashSet<>();
 
+    // Contador de cupos ocupados; solo se modifica con UPDATE condicionales (ver GroupEventRepository.reserveSeat),
+    // por eso no forma parte de los UPDATE de la entidad
+    @Column(nullable = false, updatable = false, columnDefinition = "int default 0")
+    private int occupiedSeats = 0;
+
+    // Lista de espera: último turno entregado y último turno promovido (ver WaitlistEntry.sequence)
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long waitlistTail = 0;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long waitlistHead = 0;
+
     public GroupEvent() {}
 
     public GroupEvent(String name, Event event, Department department) {
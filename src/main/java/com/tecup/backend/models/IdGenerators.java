@@ -0,0 +1,16 @@
+package com.tecup.backend.models;
+
+/**
+ * Tabla de generadores de ids compartida por las entidades que se insertan en lote.
+ * Con IDENTITY Hibernate necesita un INSERT por fila para conocer el id; con un generador
+ * de tabla reserva ALLOCATION_SIZE ids por viaje y puede agrupar los INSERT en lotes JDBC.
+ */
+public final class IdGenerators {
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
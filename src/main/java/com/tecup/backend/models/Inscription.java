@@ -9,11 +9,22 @@ import java.util.Date;
 @Entity
 @Getter
 @Setter
-@Table(name = "inscriptions")
+@Table(name = "inscriptions",
+        uniqueConstraints = {
+                // Un usuario se inscribe como mucho una vez por evento; lo garantiza la base de datos
+                @UniqueConstraint(name = "uk_inscriptions_user_event", columnNames = {"user_id", "event_id"})
+        },
+        indexes = {
+                // Listado paginado por keyset y filtro por rango de fechas
+                @Index(name = "idx_inscriptions_fecha_id", columnList = "fecha_inscripcion, id")
+        })
 public class Inscription {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "inscriptions_id")
+    @TableGenerator(name = "inscriptions_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "inscriptions",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private long id;
     private Date fecha_inscripcion;
 
@@ -0,0 +1,29 @@
+package com.tecup.backend.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "revoked_tokens",
+        indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+public class RevokedToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti; // Identificador del JWT revocado
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date expiresAt; // Pasada esta fecha el token ya no es válido y el registro se puede borrar
+
+    public RevokedToken() {}
+
+    public RevokedToken(String jti, Date expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+}
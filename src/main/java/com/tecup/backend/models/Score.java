@@ -9,11 +9,18 @@ import java.util.Date;
 @Entity
 @Getter
 @Setter
-@Table(name = "scores")
+@Table(name = "scores",
+        uniqueConstraints = {
+                // Un jurado califica cada grupo una sola vez
+                @UniqueConstraint(name = "uk_scores_jury_group", columnNames = {"jury_id", "group_event_id"})
+        })
 public class Score {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "scores_id")
+    @TableGenerator(name = "scores_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "scores",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne
@@ -50,6 +50,10 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true) // Relación con Inscription
     private Set<Inscription> inscriptions = new HashSet<>();
 
+    // Se incrementa cada vez que cambian los roles; invalida los JWT emitidos antes del cambio
+    @Column(nullable = false, columnDefinition = "int default 0")
+    private int securityVersion = 0;
+
     public User() {
     }
 
@@ -0,0 +1,56 @@
+package com.tecup.backend.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "waitlist_entries",
+        uniqueConstraints = {
+                // Orden FIFO dentro del grupo
+                @UniqueConstraint(name = "uk_waitlist_group_sequence", columnNames = {"group_event_id", "sequence"}),
+                // Un usuario espera como mucho una vez por evento
+                @UniqueConstraint(name = "uk_waitlist_user_event", columnNames = {"user_id", "event_id"})
+        })
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "waitlist_entries_id")
+    @TableGenerator(name = "waitlist_entries_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "waitlist_entries",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "group_event_id", nullable = false)
+    private GroupEvent group;
+
+    @ManyToOne
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Número de turno dentro del grupo; la posición es sequence - GroupEvent.waitlistHead
+    @Column(nullable = false)
+    private long sequence;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    public WaitlistEntry() {}
+
+    public WaitlistEntry(GroupEvent group, Event event, User user, long sequence, Date createdAt) {
+        this.group = group;
+        this.event = event;
+        this.user = user;
+        this.sequence = sequence;
+        this.createdAt = createdAt;
+    }
+}
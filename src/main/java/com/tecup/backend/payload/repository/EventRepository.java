@@ -1,9 +1,17 @@
 package com.tecup.backend.payload.repository;
 
 import com.tecup.backend.models.Event;
+import com.tecup.backend.payload.response.EventResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +21,52 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     Optional<Event> findByName(String name);
 
+    @Query(EVENT_RESPONSE_SELECT + "where e.start_date > :now order by e.start_date, e.id")
+    List<EventResponse> findUpcomingResponses(@Param("now") Date now, Pageable limit);
+
+    @Query(EVENT_RESPONSE_SELECT + "where e.end_date >= :now and e.start_date <= :now order by e.end_date, e.id")
+    List<EventResponse> findOngoingResponses(@Param("now") Date now, Pageable limit);
+
+    @Query(EVENT_RESPONSE_SELECT + "where e.statusEvent = false order by e.end_date desc, e.id desc")
+    List<EventResponse> findClosedResponses();
+
+    // Cierra en bloque los eventos que ya terminaron
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.statusEvent = false where e.statusEvent = true and e.end_date < :now")
+    int closeFinished(@Param("now") Date now);
+
+    // Solo la columna de la imagen: no pisa una edición concurrente del resto del evento
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.img_event = :url where e.id = :eventId")
+    int updateImage(@Param("eventId") Long eventId, @Param("url") String url);
+
+    @Modifying
+    @Query("delete from Event e where e.id = :eventId")
+    int deleteByIdInBulk(@Param("eventId") Long eventId);
+
+    String EVENT_RESPONSE_SELECT = "select new com.tecup.backend.payload.response.EventResponse("
+            + "e.id, e.name, e.description, e.place, e.img_event, coalesce(o.username, 'No Organizador'), "
+            + "e.start_date, e.end_date) from Event e left join e.organizador_id o ";
+
+    // Catálogo completo como proyección: una sola consulta, sin hidratar entidades
+    @Query(EVENT_RESPONSE_SELECT + "order by e.start_date, e.id")
+    List<EventResponse> findAllResponses();
+
+    // Paginación por keyset sobre (start_date, id); el límite lo da el Pageable
+    @Query(EVENT_RESPONSE_SELECT + "order by e.start_date, e.id")
+    List<EventResponse> findResponsePage(Pageable limit);
+
+    @Query(EVENT_RESPONSE_SELECT
+            + "where e.start_date > :startDate or (e.start_date = :startDate and e.id > :id) "
+            + "order by e.start_date, e.id")
+    List<EventResponse> findResponsePageAfter(@Param("startDate") Date startDate, @Param("id") Long id, Pageable limit);
+
+    // MySQL ordena los nulos primero: tras un evento sin fecha siguen los demás sin fecha y luego todos los fechados
+    @Query(EVENT_RESPONSE_SELECT
+            + "where (e.start_date is null and e.id > :id) or e.start_date is not null "
+            + "order by e.start_date, e.id")
+    List<EventResponse> findResponsePageAfterUndated(@Param("id") Long id, Pageable limit);
+
 }
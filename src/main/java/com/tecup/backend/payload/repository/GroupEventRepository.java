@@ -3,7 +3,13 @@ package com.tecup.backend.payload.repository;
 import com.tecup.backend.models.Department;
 import com.tecup.backend.models.Event;
 import com.tecup.backend.models.GroupEvent;
+import com.tecup.backend.payload.response.GroupOccupancyResponse;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +19,49 @@ import java.util.Optional;
 public interface GroupEventRepository extends JpaRepository<GroupEvent, Long> {
     Optional<GroupEvent> findByEventAndDepartment(Event event, Department department);
     List<GroupEvent> findByEvent(Event event);
+
+    // Grupos del evento con su departamento y ocupación, en una sola consulta
+    @Query("select new com.tecup.backend.payload.response.GroupOccupancyResponse("
+            + "g.id, g.name, d.name, cast(g.occupiedSeats as Long), e.max_participants_group) "
+            + "from GroupEvent g join g.department d join g.event e "
+            + "where e.id = :eventId order by d.name, g.id")
+    List<GroupOccupancyResponse> findOccupancyByEventId(@Param("eventId") Long eventId);
+
+    // Reserva atómica de un cupo: la fila queda bloqueada hasta el commit y la condición evita el sobrecupo
+    @Modifying
+    @Query("update GroupEvent g set g.occupiedSeats = g.occupiedSeats + 1 "
+            + "where g.id = :groupId and g.occupiedSeats < :capacity")
+    int reserveSeat(@Param("groupId") Long groupId, @Param("capacity") int capacity);
+
+    @Modifying
+    @Query("update GroupEvent g set g.occupiedSeats = g.occupiedSeats - 1 where g.id = :groupId and g.occupiedSeats > 0")
+    int releaseSeat(@Param("groupId") Long groupId);
+
+    // Entrega el siguiente turno de la lista de espera; la fila queda bloqueada hasta el commit
+    @Modifying
+    @Query("update GroupEvent g set g.waitlistTail = g.waitlistTail + 1 where g.id = :groupId")
+    int issueWaitlistTurn(@Param("groupId") Long groupId);
+
+    @Query("select g.waitlistTail from GroupEvent g where g.id = :groupId")
+    long findWaitlistTail(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query("update GroupEvent g set g.waitlistHead = :sequence where g.id = :groupId and g.waitlistHead < :sequence")
+    int advanceWaitlistHead(@Param("groupId") Long groupId, @Param("sequence") long sequence);
+
+    @Query("select g.id from GroupEvent g order by g.id")
+    List<Long> findAllIds();
+
+    // Bloquea la fila del grupo como lo hace reserveSeat: las admisiones en curso terminan antes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from GroupEvent g where g.id = :groupId")
+    Optional<GroupEvent> findByIdForUpdate(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query("update GroupEvent g set g.occupiedSeats = :seats where g.id = :groupId")
+    int updateOccupiedSeats(@Param("groupId") Long groupId, @Param("seats") int seats);
+
+    @Modifying
+    @Query("delete from GroupEvent g where g.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
 }
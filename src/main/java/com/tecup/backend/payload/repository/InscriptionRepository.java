@@ -3,9 +3,15 @@ package com.tecup.backend.payload.repository;
 import com.tecup.backend.models.Event;
 import com.tecup.backend.models.Inscription;
 import com.tecup.backend.models.User;
+import com.tecup.backend.payload.response.UserInscriptionResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -17,4 +23,50 @@ public interface InscriptionRepository extends JpaRepository<Inscription, Long>
     long countByEvent(Event event);
 
     Optional<Object> findByUser(User user);
+
+    String DASHBOARD_SELECT = "select new com.tecup.backend.payload.response.UserInscriptionResponse("
+            + "i.id, u.username, e.id, e.name, i.fecha_inscripcion, e.start_date, e.end_date, g.name, d.name) "
+            + "from Inscription i join i.user u join i.event e left join i.group g left join g.department d "
+            + "where u.username = :username ";
+
+    // Panel del usuario en una sola consulta, sin cargar User ni sus colecciones
+    @Query(DASHBOARD_SELECT + "order by e.start_date, i.id")
+    List<UserInscriptionResponse> findDashboard(@Param("username") String username);
+
+    // Eventos que aún no terminan (sin fecha de fin cuenta como próximo)
+    @Query(DASHBOARD_SELECT + "and (e.end_date is null or e.end_date >= :now) order by e.start_date, i.id")
+    List<UserInscriptionResponse> findDashboardUpcoming(@Param("username") String username, @Param("now") Date now);
+
+    @Query(DASHBOARD_SELECT + "and e.end_date < :now order by e.end_date desc, i.id desc")
+    List<UserInscriptionResponse> findDashboardPast(@Param("username") String username, @Param("now") Date now);
+
+    /**
+     * Sello del panel en una consulta de agregación: cantidad de inscripciones, la más reciente y
+     * cuántas ya pasaron (cambia cuando un evento termina aunque no cambien las inscripciones).
+     */
+    @Query("select count(i) as total, max(i.fecha_inscripcion) as lastInscription, "
+            + "coalesce(sum(case when e.end_date < :now then 1 else 0 end), 0) as finished "
+            + "from Inscription i join i.event e where i.user.username = :username")
+    DashboardStamp findDashboardStamp(@Param("username") String username, @Param("now") Date now);
+
+    interface DashboardStamp {
+        long getTotal();
+
+        Date getLastInscription();
+
+        long getFinished();
+    }
+
+    @Query("select count(i) from Inscription i where i.group.id = :groupId")
+    long countByGroupId(@Param("groupId") Long groupId);
+
+    // Devuelve 0 si otra solicitud ya la eliminó: solo quien borra la fila libera el cupo
+    @Modifying
+    @Query("delete from Inscription i where i.id = :id")
+    int deleteByIdInBulk(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Inscription i where i.event.id = :eventId"
+            + " or i.group.id in (select g.id from GroupEvent g where g.event.id = :eventId)")
+    int deleteByEventId(@Param("eventId") Long eventId);
 }
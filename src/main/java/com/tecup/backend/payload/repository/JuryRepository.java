@@ -2,9 +2,14 @@ package com.tecup.backend.payload.repository;
 
 import com.tecup.backend.models.Jury;
 import com.tecup.backend.models.User;
+import com.tecup.backend.payload.response.EventJuryResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,12 @@ public interface JuryRepository extends JpaRepository<Jury, Long> {
     Optional<Jury> findByJurado(User user);
 
     Optional<Jury> findByJuradoUsername(String username);
+
+    @Query("select new com.tecup.backend.payload.response.EventJuryResponse(j.id, u.id, u.username) "
+            + "from Jury j join j.jurado u where j.event.id = :eventId order by u.username")
+    List<EventJuryResponse> findMembersByEventId(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("delete from Jury j where j.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
 }
@@ -4,6 +4,9 @@ import com.tecup.backend.models.GroupEvent;
 import com.tecup.backend.models.Jury;
 import com.tecup.backend.models.Score;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +14,10 @@ import java.util.Optional;
 @Repository
 public interface ScoreRepository extends JpaRepository<Score, Long> {
     Optional<Score> findByJuryAndGroupEvent(Jury jury, GroupEvent group);
+
+    // Puntajes de los grupos del evento o de sus jurados
+    @Modifying
+    @Query("delete from Score s where s.groupEvent.id in (select g.id from GroupEvent g where g.event.id = :eventId)"
+            + " or s.jury.id in (select j.id from Jury j where j.event.id = :eventId)")
+    int deleteByEventId(@Param("eventId") Long eventId);
 }
@@ -1,18 +1,56 @@
 package com.tecup.backend.payload.repository;
 
 import com.tecup.backend.models.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
+    // Usuario y roles en una sola consulta (autenticación)
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByUsername(String username);
+
+    // Carrera, departamento y eventos inscritos del usuario en una sola consulta (signin)
+    @Query("select c.name as careerName, d.name as departmentName, e.name as eventName " +
+            "from User u left join u.career c left join c.department_id d " +
+            "left join u.inscriptions i left join i.event e " +
+            "where u.id = :userId")
+    List<SigninProfileRow> findSigninProfile(@Param("userId") Long userId);
+
     Boolean existsByUsername(String username);
 
     Boolean existsByEmail(String email);
 
+    @Query("select u.securityVersion from User u where u.id = :id")
+    Optional<Integer> findSecurityVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    interface SigninProfileRow {
+        String getCareerName();
+
+        String getDepartmentName();
+
+        String getEventName();
+    }
+
 
 }
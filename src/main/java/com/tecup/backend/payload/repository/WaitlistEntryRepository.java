@@ -0,0 +1,37 @@
+package com.tecup.backend.payload.repository;
+
+import com.tecup.backend.models.WaitlistEntry;
+import com.tecup.backend.payload.response.WaitlistPositionResponse;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    boolean existsByUserIdAndEventId(Long userId, Long eventId);
+
+    // Cabeza de la cola con bloqueo: dos bajas simultáneas no pueden promover la misma entrada
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from WaitlistEntry w where w.group.id = :groupId order by w.sequence")
+    List<WaitlistEntry> findHead(@Param("groupId") Long groupId, Pageable limit);
+
+    // Posición en O(1): turno propio menos el último turno atendido del grupo
+    @Query("select new com.tecup.backend.payload.response.WaitlistPositionResponse("
+            + "w.id, e.id, e.name, g.id, g.name, w.sequence - g.waitlistHead) "
+            + "from WaitlistEntry w join w.group g join w.event e where w.user.username = :username "
+            + "order by w.createdAt")
+    List<WaitlistPositionResponse> findPositionsByUsername(@Param("username") String username);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.event.id = :eventId"
+            + " or w.group.id in (select g.id from GroupEvent g where g.event.id = :eventId)")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
@@ -0,0 +1,60 @@
+package com.tecup.backend.payload.request;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+/**
+ * Filtros opcionales del listado de inscripciones (parámetros de consulta).
+ */
+public class InscriptionFilterRequest {
+    private Long eventId;
+    private Long groupId;
+    private Long departmentId;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private Date from; // inclusive
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private Date to; // inclusive (todo el día)
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public Date getFrom() {
+        return from;
+    }
+
+    public void setFrom(Date from) {
+        this.from = from;
+    }
+
+    public Date getTo() {
+        return to;
+    }
+
+    public void setTo(Date to) {
+        this.to = to;
+    }
+}
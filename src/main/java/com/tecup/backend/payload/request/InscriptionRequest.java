@@ -6,6 +6,8 @@ public class InscriptionRequest {
     @NotNull
     private Long eventId; // ID del evento al que el usuario desea inscribirse
 
+    private boolean waitlist; // true: si el grupo está lleno, entrar a la lista de espera
+
     // Getters y Setters
     public Long getEventId() {
         return eventId;
@@ -14,4 +16,12 @@ public class InscriptionRequest {
     public void setEventId(Long eventId) {
         this.eventId = eventId;
     }
+
+    public boolean isWaitlist() {
+        return waitlist;
+    }
+
+    public void setWaitlist(boolean waitlist) {
+        this.waitlist = waitlist;
+    }
 }
@@ -0,0 +1,67 @@
+package com.tecup.backend.payload.response;
+
+public class AdmissionTicketResponse {
+    private String ticketId;
+    private Long eventId;
+    private String status; // QUEUED, PROCESSING o DONE
+    private Long position; // tickets por delante mientras está en cola
+    private String outcome; // resultado de la inscripción cuando status es DONE
+    private String message;
+
+    public AdmissionTicketResponse(String ticketId, Long eventId, String status, Long position, String outcome, String message) {
+        this.ticketId = ticketId;
+        this.eventId = eventId;
+        this.status = status;
+        this.position = position;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
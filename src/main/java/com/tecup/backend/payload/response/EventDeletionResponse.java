@@ -0,0 +1,67 @@
+package com.tecup.backend.payload.response;
+
+public class EventDeletionResponse {
+    private String message;
+    private Long eventId;
+    private int scores;
+    private int inscriptions;
+    private int juries;
+    private int groups;
+
+    public EventDeletionResponse(String message, Long eventId, int scores, int inscriptions, int juries, int groups) {
+        this.message = message;
+        this.eventId = eventId;
+        this.scores = scores;
+        this.inscriptions = inscriptions;
+        this.juries = juries;
+        this.groups = groups;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public int getScores() {
+        return scores;
+    }
+
+    public void setScores(int scores) {
+        this.scores = scores;
+    }
+
+    public int getInscriptions() {
+        return inscriptions;
+    }
+
+    public void setInscriptions(int inscriptions) {
+        this.inscriptions = inscriptions;
+    }
+
+    public int getJuries() {
+        return juries;
+    }
+
+    public void setJuries(int juries) {
+        this.juries = juries;
+    }
+
+    public int getGroups() {
+        return groups;
+    }
+
+    public void setGroups(int groups) {
+        this.groups = groups;
+    }
+}
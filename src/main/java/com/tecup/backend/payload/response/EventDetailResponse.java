@@ -0,0 +1,39 @@
+package com.tecup.backend.payload.response;
+
+import java.util.List;
+
+public class EventDetailResponse {
+    private EventResponse event;
+    private List<GroupOccupancyResponse> groups;
+    private List<EventJuryResponse> juries;
+
+    public EventDetailResponse(EventResponse event, List<GroupOccupancyResponse> groups, List<EventJuryResponse> juries) {
+        this.event = event;
+        this.groups = groups;
+        this.juries = juries;
+    }
+
+    public EventResponse getEvent() {
+        return event;
+    }
+
+    public void setEvent(EventResponse event) {
+        this.event = event;
+    }
+
+    public List<GroupOccupancyResponse> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<GroupOccupancyResponse> groups) {
+        this.groups = groups;
+    }
+
+    public List<EventJuryResponse> getJuries() {
+        return juries;
+    }
+
+    public void setJuries(List<EventJuryResponse> juries) {
+        this.juries = juries;
+    }
+}
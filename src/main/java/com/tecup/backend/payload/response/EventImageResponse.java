@@ -0,0 +1,29 @@
+package com.tecup.backend.payload.response;
+
+import java.util.Map;
+
+public class EventImageResponse {
+    private String imgEvent;
+    private Map<String, String> thumbnails; // variante -> URL
+
+    public EventImageResponse(String imgEvent, Map<String, String> thumbnails) {
+        this.imgEvent = imgEvent;
+        this.thumbnails = thumbnails;
+    }
+
+    public String getImgEvent() {
+        return imgEvent;
+    }
+
+    public void setImgEvent(String imgEvent) {
+        this.imgEvent = imgEvent;
+    }
+
+    public Map<String, String> getThumbnails() {
+        return thumbnails;
+    }
+
+    public void setThumbnails(Map<String, String> thumbnails) {
+        this.thumbnails = thumbnails;
+    }
+}
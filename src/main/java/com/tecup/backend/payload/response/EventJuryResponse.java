@@ -0,0 +1,37 @@
+package com.tecup.backend.payload.response;
+
+public class EventJuryResponse {
+    private Long juryId;
+    private Long userId;
+    private String username;
+
+    public EventJuryResponse(Long juryId, Long userId, String username) {
+        this.juryId = juryId;
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public Long getJuryId() {
+        return juryId;
+    }
+
+    public void setJuryId(Long juryId) {
+        this.juryId = juryId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+}
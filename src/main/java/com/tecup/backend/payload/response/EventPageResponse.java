@@ -0,0 +1,29 @@
+package com.tecup.backend.payload.response;
+
+import java.util.List;
+
+public class EventPageResponse {
+    private List<EventResponse> items;
+    private String nextCursor; // null en la última página
+
+    public EventPageResponse(List<EventResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<EventResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<EventResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
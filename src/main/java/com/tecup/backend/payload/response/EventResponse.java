@@ -1,12 +1,17 @@
 package com.tecup.backend.payload.response;
 
+import java.util.Date;
+
 public class EventResponse {
     private Long id;
     private String name;
     private String description;
     private String place;
     private String imgEvent;
+    private String imgThumbnail; // miniatura para las tarjetas del catálogo
     private String organizador;
+    private Date startDate;
+    private Date endDate;
 
     public EventResponse(Long id, String name, String description, String place, String imgEvent,String organizador) {
         this.id = id;
@@ -17,6 +22,14 @@ public class EventResponse {
         this.organizador = organizador;
     }
 
+    // Usado por las proyecciones JPQL de EventRepository
+    public EventResponse(Long id, String name, String description, String place, String imgEvent, String organizador,
+                         Date startDate, Date endDate) {
+        this(id, name, description, place, imgEvent, organizador);
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
     public Long getId() {
         return id;
     }
@@ -58,6 +71,14 @@ public class EventResponse {
         this.imgEvent = imgEvent;
     }
 
+    public String getImgThumbnail() {
+        return imgThumbnail;
+    }
+
+    public void setImgThumbnail(String imgThumbnail) {
+        this.imgThumbnail = imgThumbnail;
+    }
+
     public String getOrganizador() {
         return organizador;
     }
@@ -65,4 +86,20 @@ public class EventResponse {
     public void setOrganizador(String organizador) {
         this.organizador = organizador;
     }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
 }
@@ -0,0 +1,67 @@
+package com.tecup.backend.payload.response;
+
+public class GroupOccupancyResponse {
+    private Long groupId;
+    private String nameGroupEvent;
+    private String nameDepartment;
+    private long occupied;
+    private int capacity; // max_participants_group del evento
+    private long available;
+
+    public GroupOccupancyResponse(Long groupId, String nameGroupEvent, String nameDepartment, long occupied, int capacity) {
+        this.groupId = groupId;
+        this.nameGroupEvent = nameGroupEvent;
+        this.nameDepartment = nameDepartment;
+        this.occupied = occupied;
+        this.capacity = capacity;
+        this.available = Math.max(0, capacity - occupied);
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getNameGroupEvent() {
+        return nameGroupEvent;
+    }
+
+    public void setNameGroupEvent(String nameGroupEvent) {
+        this.nameGroupEvent = nameGroupEvent;
+    }
+
+    public String getNameDepartment() {
+        return nameDepartment;
+    }
+
+    public void setNameDepartment(String nameDepartment) {
+        this.nameDepartment = nameDepartment;
+    }
+
+    public long getOccupied() {
+        return occupied;
+    }
+
+    public void setOccupied(long occupied) {
+        this.occupied = occupied;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public long getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(long available) {
+        this.available = available;
+    }
+}
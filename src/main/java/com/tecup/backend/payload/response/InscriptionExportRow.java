@@ -0,0 +1,47 @@
+package com.tecup.backend.payload.response;
+
+import java.util.Date;
+
+// Fila de la exportación de participantes de un evento (CSV/XLSX)
+public class InscriptionExportRow {
+    private Long inscriptionId;
+    private String username;
+    private String career;
+    private String department;
+    private String group;
+    private Date fechaInscripcion;
+
+    public InscriptionExportRow(Long inscriptionId, String username, String career,
+                                String department, String group, Date fechaInscripcion) {
+        this.inscriptionId = inscriptionId;
+        this.username = username;
+        this.career = career;
+        this.department = department;
+        this.group = group;
+        this.fechaInscripcion = fechaInscripcion;
+    }
+
+    public Long getInscriptionId() {
+        return inscriptionId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getCareer() {
+        return career;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public Date getFechaInscripcion() {
+        return fechaInscripcion;
+    }
+}
@@ -1,11 +1,24 @@
 package com.tecup.backend.payload.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
 public class InscriptionResponse {
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
     private Long id; // ID de la inscripción
     private String username;
     private String eventName;
     private String fecha_Inscripcion;
 
+    @JsonIgnore
+    private Date fecha; // fecha sin formato, para el cursor de paginación
+
     // Constructor
     public InscriptionResponse(Long id, String username, String eventName, String fecha_Inscripcion) {
         this.id = id;
@@ -14,6 +27,12 @@ public class InscriptionResponse {
         this.fecha_Inscripcion = fecha_Inscripcion;
     }
 
+    // Usado por las proyecciones JPQL de InscriptionQueryService
+    public InscriptionResponse(Long id, String username, String eventName, Date fecha) {
+        this(id, username, eventName, fecha != null ? DATE_FORMAT.format(Instant.ofEpochMilli(fecha.getTime())) : null);
+        this.fecha = fecha;
+    }
+
     // Getters y Setters
     public Long getId() {
         return id;
@@ -46,4 +65,8 @@ public class InscriptionResponse {
     public void setFecha_Inscripcion(String fecha_Inscripcion) {
         this.fecha_Inscripcion = fecha_Inscripcion;
     }
+
+    public Date getFecha() {
+        return fecha;
+    }
 }
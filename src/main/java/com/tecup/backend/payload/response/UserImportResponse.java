@@ -0,0 +1,49 @@
+package com.tecup.backend.payload.response;
+
+import java.util.List;
+
+public class UserImportResponse {
+    private int total;
+    private int created;
+    private int rejected;
+    private List<UserImportRowResponse> rows;
+
+    public UserImportResponse(int total, int created, int rejected, List<UserImportRowResponse> rows) {
+        this.total = total;
+        this.created = created;
+        this.rejected = rejected;
+        this.rows = rows;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<UserImportRowResponse> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<UserImportRowResponse> rows) {
+        this.rows = rows;
+    }
+}
@@ -0,0 +1,47 @@
+package com.tecup.backend.payload.response;
+
+public class UserImportRowResponse {
+    private int row; // Posición de la fila en el archivo (desde 1)
+    private String username;
+    private String status; // CREATED, DUPLICATE, INVALID o FAILED
+    private String message;
+
+    public UserImportRowResponse(int row, String username, String status, String message) {
+        this.row = row;
+        this.username = username;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
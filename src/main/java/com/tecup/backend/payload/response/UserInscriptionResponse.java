@@ -0,0 +1,72 @@
+package com.tecup.backend.payload.response;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+// Fila del panel del usuario: inscripción con los datos del evento, grupo y departamento
+public class UserInscriptionResponse {
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private Long id; // ID de la inscripción
+    private String username;
+    private Long eventId;
+    private String eventName;
+    private String fecha_Inscripcion;
+    private Date startDate;
+    private Date endDate;
+    private String groupName;
+    private String departmentName;
+
+    public UserInscriptionResponse(Long id, String username, Long eventId, String eventName, Date fechaInscripcion,
+                                   Date startDate, Date endDate, String groupName, String departmentName) {
+        this.id = id;
+        this.username = username;
+        this.eventId = eventId;
+        this.eventName = eventName;
+        this.fecha_Inscripcion = fechaInscripcion != null
+                ? DATE_FORMAT.format(Instant.ofEpochMilli(fechaInscripcion.getTime())) : null;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.groupName = groupName;
+        this.departmentName = departmentName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public String getFecha_Inscripcion() {
+        return fecha_Inscripcion;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+}
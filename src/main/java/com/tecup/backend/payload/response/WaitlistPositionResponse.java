@@ -0,0 +1,67 @@
+package com.tecup.backend.payload.response;
+
+public class WaitlistPositionResponse {
+    private Long waitlistId;
+    private Long eventId;
+    private String nameEvent;
+    private Long groupId;
+    private String nameGroupEvent;
+    private long position; // 1 = siguiente en ser promovido
+
+    public WaitlistPositionResponse(Long waitlistId, Long eventId, String nameEvent, Long groupId, String nameGroupEvent, long position) {
+        this.waitlistId = waitlistId;
+        this.eventId = eventId;
+        this.nameEvent = nameEvent;
+        this.groupId = groupId;
+        this.nameGroupEvent = nameGroupEvent;
+        this.position = position;
+    }
+
+    public Long getWaitlistId() {
+        return waitlistId;
+    }
+
+    public void setWaitlistId(Long waitlistId) {
+        this.waitlistId = waitlistId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getNameEvent() {
+        return nameEvent;
+    }
+
+    public void setNameEvent(String nameEvent) {
+        this.nameEvent = nameEvent;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getNameGroupEvent() {
+        return nameGroupEvent;
+    }
+
+    public void setNameGroupEvent(String nameGroupEvent) {
+        this.nameGroupEvent = nameGroupEvent;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public void setPosition(long position) {
+        this.position = position;
+    }
+}
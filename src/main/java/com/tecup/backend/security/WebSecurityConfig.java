@@ -2,6 +2,7 @@ package com.tecup.backend.security;
 
 import com.tecup.backend.security.jwt.AuthEntryPointJwt;
 import com.tecup.backend.security.jwt.AuthTokenFilter;
+import com.tecup.backend.security.services.AdaptiveBCryptPasswordEncoder;
 import com.tecup.backend.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,7 +15,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -31,6 +31,15 @@ public class WebSecurityConfig {
   @Value("${spring.h2.console.path}")
   private String h2ConsolePath;
 
+  @Value("${bezkoder.app.passwordHashBudgetMs:250}")
+  private long passwordHashBudgetMs;
+
+  @Value("${bezkoder.app.passwordHashMinStrength:10}")
+  private int passwordHashMinStrength;
+
+  @Value("${bezkoder.app.passwordHashMaxStrength:14}")
+  private int passwordHashMaxStrength;
+
   @Autowired
   UserDetailsServiceImpl userDetailsService;
 
@@ -48,6 +57,8 @@ public class WebSecurityConfig {
 
     authProvider.setUserDetailsService(userDetailsService);
     authProvider.setPasswordEncoder(passwordEncoder());
+    // Rehash transparente al iniciar sesión cuando el costo del hash no es el calibrado
+    authProvider.setUserDetailsPasswordService(userDetailsService);
 
     return authProvider;
   }
@@ -59,7 +70,7 @@ public class WebSecurityConfig {
 
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+    return AdaptiveBCryptPasswordEncoder.calibrate(passwordHashBudgetMs, passwordHashMinStrength, passwordHashMaxStrength);
   }
 
   @Bean
@@ -0,0 +1,17 @@
+package com.tecup.backend.security.authorization;
+
+import com.tecup.backend.models.ERole;
+
+import java.lang.annotation.*;
+
+/**
+ * Roles que pueden invocar el endpoint. Se compila una sola vez a una máscara de bits y
+ * se compara con la máscara del usuario autenticado (basta con que tenga uno de los roles).
+ * En un método reemplaza a la anotación declarada en la clase.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AllowedRoles {
+  ERole[] value();
+}
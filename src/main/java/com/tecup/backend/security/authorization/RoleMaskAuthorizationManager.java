@@ -0,0 +1,59 @@
+package com.tecup.backend.security.authorization;
+
+import com.tecup.backend.models.ERole;
+import com.tecup.backend.security.services.UserDetailsImpl;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Autoriza métodos anotados con {@link AllowedRoles} con un único AND entre la máscara
+ * requerida (calculada una vez por método) y la máscara de roles del principal.
+ */
+public class RoleMaskAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+  private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+  private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+  private final Map<Method, Integer> requiredMasks = new ConcurrentHashMap<>();
+
+  @Override
+  public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+    int required = requiredMasks.computeIfAbsent(invocation.getMethod(),
+            method -> resolveRequiredMask(method, invocation.getThis()));
+    return (roleMask(authentication.get()) & required) != 0 ? GRANTED : DENIED;
+  }
+
+  private static int resolveRequiredMask(Method method, Object target) {
+    Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+    Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+
+    AllowedRoles allowedRoles = AnnotatedElementUtils.findMergedAnnotation(specificMethod, AllowedRoles.class);
+    if (allowedRoles == null) {
+      allowedRoles = AnnotatedElementUtils.findMergedAnnotation(targetClass, AllowedRoles.class);
+    }
+    return allowedRoles != null ? ERole.maskOf(allowedRoles.value()) : 0;
+  }
+
+  private static int roleMask(Authentication authentication) {
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return 0;
+    }
+    if (authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+      return userDetails.getRoleMask();
+    }
+    return ERole.maskOfAuthorities(authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toList()));
+  }
+}
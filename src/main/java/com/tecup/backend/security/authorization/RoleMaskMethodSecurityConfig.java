@@ -0,0 +1,29 @@
+package com.tecup.backend.security.authorization;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.Pointcuts;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+
+@Configuration
+public class RoleMaskMethodSecurityConfig {
+
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor allowedRolesAuthorizationAdvisor() {
+    Pointcut pointcut = Pointcuts.union(
+            new AnnotationMatchingPointcut(AllowedRoles.class, true),
+            new AnnotationMatchingPointcut(null, AllowedRoles.class, true));
+
+    AuthorizationManagerBeforeMethodInterceptor interceptor =
+            new AuthorizationManagerBeforeMethodInterceptor(pointcut, new RoleMaskAuthorizationManager());
+    interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder() + 1);
+    return interceptor;
+  }
+}
@@ -1,6 +1,9 @@
 package com.tecup.backend.security.jwt;
 
-import com.tecup.backend.security.services.UserDetailsServiceImpl;
+import com.tecup.backend.security.services.CachedUserDetailsService;
+import com.tecup.backend.security.services.SecurityVersionService;
+import com.tecup.backend.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +11,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,7 +26,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
   private JwtUtils jwtUtils;
 
   @Autowired
-  private UserDetailsServiceImpl userDetailsService;
+  private CachedUserDetailsService userDetailsService;
+
+  @Autowired
+  private SecurityVersionService securityVersionService;
+
+  @Autowired
+  private TokenRevocationService tokenRevocationService;
+
+  @Value("${bezkoder.app.jwtStateless:false}")
+  private boolean statelessAuth;
 
   private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
@@ -30,10 +44,14 @@ public class AuthTokenFilter extends OncePerRequestFilter {
           throws ServletException, IOException {
     try {
       String jwt = parseJwt(request);
-      if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-        String username = jwtUtils.getUserNameFromJwtToken(jwt);
+      Claims claims = jwt != null ? jwtUtils.verifyJwtToken(jwt) : null;
+      if (claims != null && !tokenRevocationService.isRevoked(claims.getId())) {
+        String username = claims.getSubject();
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        UserDetails userDetails = statelessAuth ? loadUserFromClaims(claims) : null;
+        if (userDetails == null) {
+          userDetails = userDetailsService.loadUserByUsername(username);
+        }
 
         UsernamePasswordAuthenticationToken authentication =
                 new UsernamePasswordAuthenticationToken(userDetails,
@@ -51,6 +69,19 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  private UserDetailsImpl loadUserFromClaims(Claims claims) {
+    UserDetailsImpl principal = jwtUtils.getPrincipalFromClaims(claims);
+    if (principal == null) {
+      return null;
+    }
+
+    Integer currentVersion = securityVersionService.currentVersion(principal.getId());
+    if (currentVersion == null || currentVersion != principal.getSecurityVersion()) {
+      throw new BadCredentialsException("JWT security version is outdated for user " + principal.getUsername());
+    }
+    return principal;
+  }
+
   private String parseJwt(HttpServletRequest request) {
     String jwt = jwtUtils.getJwtFromCookies(request);
     return jwt;
@@ -1,25 +1,42 @@
 package com.tecup.backend.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.tecup.backend.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
   private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+  private static final String CLAIM_USER_ID = "id";
+  private static final String CLAIM_EMAIL = "email";
+  private static final String CLAIM_ROLES = "roles";
+  private static final String CLAIM_SECURITY_VERSION = "sv";
+
   @Value("${bezkoder.app.jwtSecret}")
   private String jwtSecret;
 
@@ -29,6 +46,46 @@ public class JwtUtils {
   @Value("${bezkoder.app.jwtCookieName}")
   private String jwtCookie;
 
+  @Value("${bezkoder.app.jwtCacheMaxSize:10000}")
+  private long jwtCacheMaxSize;
+
+  private Key signingKey;
+
+  private JwtParser jwtParser;
+
+  // Tokens ya verificados: evita repetir el HMAC en cada request del mismo cookie
+  private Cache<String, Claims> verifiedTokens;
+
+  @PostConstruct
+  public void init() {
+    signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(jwtCacheMaxSize)
+            .expireAfter(new Expiry<String, Claims>() {
+              @Override
+              public long expireAfterCreate(String token, Claims claims, long currentTime) {
+                Date expiration = claims.getExpiration();
+                long remainingMs = expiration != null
+                        ? expiration.getTime() - System.currentTimeMillis()
+                        : jwtExpirationMs;
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+              }
+
+              @Override
+              public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+              }
+
+              @Override
+              public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+              }
+            })
+            .recordStats()
+            .build();
+  }
+
   public String getJwtFromCookies(HttpServletRequest request) {
     Cookie cookie = WebUtils.getCookie(request, jwtCookie);
     if (cookie != null) {
@@ -39,7 +96,7 @@ public class JwtUtils {
   }
 
   public ResponseCookie generateJwtCookie(UserDetailsImpl userPrincipal) {
-    String jwt = generateTokenFromUsername(userPrincipal.getUsername());
+    String jwt = generateTokenFromPrincipal(userPrincipal);
     ResponseCookie cookie = ResponseCookie.from(jwtCookie, jwt).path("/api").maxAge(24 * 60 * 60).httpOnly(true).build();
     return cookie;
   }
@@ -50,18 +107,29 @@ public class JwtUtils {
   }
 
   public String getUserNameFromJwtToken(String token) {
-    return Jwts.parserBuilder().setSigningKey(key()).build()
-            .parseClaimsJws(token).getBody().getSubject();
+    return jwtParser.parseClaimsJws(token).getBody().getSubject();
   }
 
-  private Key key() {
-    return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+  public boolean validateJwtToken(String authToken) {
+    return verifyJwtToken(authToken) != null;
   }
 
-  public boolean validateJwtToken(String authToken) {
+  /**
+   * Verifica la firma y la expiración del token una sola vez y devuelve sus claims,
+   * o null si el token no es válido. Los tokens válidos se guardan hasta su expiración.
+   */
+  public Claims verifyJwtToken(String authToken) {
+    Claims cached = verifiedTokens.getIfPresent(authToken);
+    if (cached != null) {
+      return cached;
+    }
+
     try {
-      Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-      return true;
+      Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+      verifiedTokens.put(authToken, claims);
+      return claims;
+    } catch (SignatureException e) {
+      logger.error("Invalid JWT signature: {}", e.getMessage());
     } catch (MalformedJwtException e) {
       logger.error("Invalid JWT token: {}", e.getMessage());
     } catch (ExpiredJwtException e) {
@@ -72,15 +140,65 @@ public class JwtUtils {
       logger.error("JWT claims string is empty: {}", e.getMessage());
     }
 
-    return false;
+    return null;
+  }
+
+  public CacheStats getTokenCacheStats() {
+    return verifiedTokens.stats();
+  }
+
+  public long getTokenCacheSize() {
+    return verifiedTokens.estimatedSize();
+  }
+
+  /**
+   * Token con id, email, roles y versión de seguridad firmados, para poder
+   * reconstruir el principal sin consultar la base de datos.
+   */
+  public String generateTokenFromPrincipal(UserDetailsImpl userPrincipal) {
+    List<String> roles = userPrincipal.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toList());
+
+    return Jwts.builder()
+            .setSubject(userPrincipal.getUsername())
+            .setId(UUID.randomUUID().toString())
+            .claim(CLAIM_USER_ID, userPrincipal.getId())
+            .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+            .claim(CLAIM_ROLES, roles)
+            .claim(CLAIM_SECURITY_VERSION, userPrincipal.getSecurityVersion())
+            .setIssuedAt(new Date())
+            .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
+            .signWith(signingKey, SignatureAlgorithm.HS256)
+            .compact();
+  }
+
+  /**
+   * Reconstruye el principal desde los claims, o null si el token no los incluye.
+   */
+  public UserDetailsImpl getPrincipalFromClaims(Claims claims) {
+    Long id = claims.get(CLAIM_USER_ID, Long.class);
+    Integer securityVersion = claims.get(CLAIM_SECURITY_VERSION, Integer.class);
+    List<?> roles = claims.get(CLAIM_ROLES, List.class);
+    if (id == null || securityVersion == null || roles == null) {
+      return null;
+    }
+
+    List<GrantedAuthority> authorities = roles.stream()
+            .map(role -> new SimpleGrantedAuthority(role.toString()))
+            .collect(Collectors.toList());
+
+    return new UserDetailsImpl(id, claims.getSubject(), claims.get(CLAIM_EMAIL, String.class),
+            null, authorities, securityVersion);
   }
 
   public String generateTokenFromUsername(String username) {
     return Jwts.builder()
             .setSubject(username)
+            .setId(UUID.randomUUID().toString())
             .setIssuedAt(new Date())
             .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-            .signWith(key(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
   }
 }
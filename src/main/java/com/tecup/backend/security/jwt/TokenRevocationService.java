@@ -0,0 +1,111 @@
+package com.tecup.backend.security.jwt;
+
+import com.tecup.backend.models.RevokedToken;
+import com.tecup.backend.payload.repository.RevokedTokenRepository;
+import com.tecup.backend.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lista de JWT revocados (signout). El filtro consulta primero un filtro de Bloom en
+ * memoria; solo los positivos se confirman contra la tabla revoked_tokens.
+ */
+@Service
+public class TokenRevocationService {
+  private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+  private final RevokedTokenRepository revokedTokenRepository;
+
+  private final long expectedTokens;
+
+  private final double falsePositiveRate;
+
+  private volatile BloomFilter revoked;
+
+  // Filtro en construcción; las revocaciones concurrentes también se agregan aquí
+  private volatile BloomFilter rebuilding;
+
+  private final LongAdder checks = new LongAdder();
+
+  private final LongAdder bloomPositives = new LongAdder();
+
+  private final LongAdder confirmedRevocations = new LongAdder();
+
+  public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                @Value("${bezkoder.app.revocationExpectedTokens:100000}") long expectedTokens,
+                                @Value("${bezkoder.app.revocationFalsePositiveRate:0.01}") double falsePositiveRate) {
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.expectedTokens = expectedTokens;
+    this.falsePositiveRate = falsePositiveRate;
+    this.revoked = new BloomFilter(expectedTokens, falsePositiveRate);
+  }
+
+  public void revoke(String jti, Date expiresAt) {
+    if (jti == null) {
+      return;
+    }
+    revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+    // Primero el filtro en construcción y luego el actual, para no perder el jti en un reemplazo
+    BloomFilter next = rebuilding;
+    if (next != null) {
+      next.put(jti);
+    }
+    revoked.put(jti);
+  }
+
+  public boolean isRevoked(String jti) {
+    if (jti == null) {
+      return false;
+    }
+    checks.increment();
+    if (!revoked.mightContain(jti)) {
+      return false;
+    }
+
+    bloomPositives.increment();
+    boolean confirmed = revokedTokenRepository.existsById(jti);
+    if (confirmed) {
+      confirmedRevocations.increment();
+    }
+    return confirmed;
+  }
+
+  /**
+   * Borra las revocaciones de tokens ya expirados y reconstruye el filtro con las vigentes.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(initialDelayString = "${bezkoder.app.revocationRebuildMs:600000}",
+          fixedDelayString = "${bezkoder.app.revocationRebuildMs:600000}")
+  public void rebuild() {
+    int purged = revokedTokenRepository.deleteExpired(new Date());
+
+    long stored = revokedTokenRepository.count();
+    BloomFilter next = new BloomFilter(Math.max(expectedTokens, stored * 2), falsePositiveRate);
+    rebuilding = next;
+    List<String> jtis = revokedTokenRepository.findAllJtis();
+    jtis.forEach(next::put);
+    revoked = next;
+    rebuilding = null;
+
+    logger.info("Revocation filter rebuilt with {} tokens ({} expired removed)", jtis.size(), purged);
+  }
+
+  public Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    metrics.put("checks", checks.sum());
+    metrics.put("bloomPositives", bloomPositives.sum());
+    metrics.put("confirmedRevocations", confirmedRevocations.sum());
+    return metrics;
+  }
+}
@@ -0,0 +1,80 @@
+package com.tecup.backend.security.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt con un costo calibrado al arrancar según el tiempo de hash medido en el host.
+ * El costo viaja dentro de cada hash ($2a$NN$...), y upgradeEncoding marca para rehash
+ * los hashes con un costo distinto al objetivo.
+ */
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+  private static final Logger logger = LoggerFactory.getLogger(AdaptiveBCryptPasswordEncoder.class);
+
+  private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+  private static final int CALIBRATION_SAMPLES = 3;
+
+  private final int strength;
+
+  private final BCryptPasswordEncoder delegate;
+
+  public AdaptiveBCryptPasswordEncoder(int strength) {
+    this.strength = strength;
+    this.delegate = new BCryptPasswordEncoder(strength);
+  }
+
+  /**
+   * Mide el hash al costo mínimo y elige el mayor costo cuyo tiempo estimado
+   * (se duplica con cada punto de costo) cabe en el presupuesto.
+   */
+  public static AdaptiveBCryptPasswordEncoder calibrate(long budgetMs, int minStrength, int maxStrength) {
+    BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+    probe.encode("calibration-warmup");
+
+    long bestNanos = Long.MAX_VALUE;
+    for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+      long start = System.nanoTime();
+      probe.encode("calibration-sample-" + i);
+      bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+    }
+
+    double baseMs = bestNanos / 1_000_000.0;
+    int strength = minStrength;
+    while (strength < maxStrength && baseMs * (1L << (strength + 1 - minStrength)) <= budgetMs) {
+      strength++;
+    }
+
+    logger.info("BCrypt calibrated: cost {} takes {} ms, selected cost {} for a {} ms budget",
+            minStrength, String.format("%.1f", baseMs), strength, budgetMs);
+    return new AdaptiveBCryptPasswordEncoder(strength);
+  }
+
+  public int getStrength() {
+    return strength;
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return delegate.encode(rawPassword);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return delegate.matches(rawPassword, encodedPassword);
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (encodedPassword == null) {
+      return false;
+    }
+    Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+    return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+  }
+}
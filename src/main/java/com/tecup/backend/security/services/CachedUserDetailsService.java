@@ -0,0 +1,57 @@
+package com.tecup.backend.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Decorador de UserDetailsServiceImpl para el filtro JWT. Guarda el principal sin
+ * contraseña por un tiempo limitado; AdminController lo invalida al cambiar roles.
+ */
+@Service
+public class CachedUserDetailsService implements UserDetailsService {
+  private final UserDetailsServiceImpl delegate;
+
+  private final Cache<String, UserDetailsImpl> principals;
+
+  public CachedUserDetailsService(UserDetailsServiceImpl delegate,
+                                  @Value("${bezkoder.app.userDetailsCacheTtlSeconds:300}") long ttlSeconds,
+                                  @Value("${bezkoder.app.userDetailsCacheMaxSize:10000}") long maxSize) {
+    this.delegate = delegate;
+    this.principals = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .maximumSize(maxSize)
+            .recordStats()
+            .build();
+  }
+
+  @Override
+  public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    return principals.get(username, this::loadWithoutPassword);
+  }
+
+  public void evict(String username) {
+    principals.invalidate(username);
+  }
+
+  public CacheStats getStats() {
+    return principals.stats();
+  }
+
+  public long getSize() {
+    return principals.estimatedSize();
+  }
+
+  private UserDetailsImpl loadWithoutPassword(String username) {
+    UserDetailsImpl user = (UserDetailsImpl) delegate.loadUserByUsername(username);
+    return new UserDetailsImpl(user.getId(), user.getUsername(), user.getEmail(), null,
+            user.getAuthorities(), user.getSecurityVersion());
+  }
+}
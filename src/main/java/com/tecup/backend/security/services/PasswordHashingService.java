@@ -0,0 +1,189 @@
+package com.tecup.backend.security.services;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Pool acotado para el trabajo de BCrypt (signin/signup). Mantiene el hashing fuera
+ * de los hilos de Tomcat y rechaza de inmediato cuando la cola está llena.
+ */
+@Service
+public class PasswordHashingService {
+  private static final long BATCH_RETRY_DELAY_MS = 20;
+
+  private final PasswordEncoder passwordEncoder;
+
+  private final ThreadPoolExecutor executor;
+
+  private final LatencyStats queueWait = new LatencyStats();
+
+  private final LatencyStats execution = new LatencyStats();
+
+  private final LongAdder rejected = new LongAdder();
+
+  private final LongAdder batchRetries = new LongAdder();
+
+  public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                @Value("${bezkoder.app.passwordHashingThreads:0}") int threads,
+                                @Value("${bezkoder.app.passwordHashingQueueCapacity:100}") int queueCapacity) {
+    this.passwordEncoder = passwordEncoder;
+    int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Encola una tarea de credenciales.
+   *
+   * @throws RejectedExecutionException si la cola de hashing está llena
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    try {
+      return enqueue(task);
+    } catch (RejectedExecutionException e) {
+      // Cada rechazo aquí es un 503 para el cliente
+      rejected.increment();
+      throw e;
+    }
+  }
+
+  private <T> CompletableFuture<T> enqueue(Supplier<T> task) {
+    long enqueuedAt = System.nanoTime();
+    CompletableFuture<T> future = new CompletableFuture<>();
+    executor.execute(() -> {
+      long startedAt = System.nanoTime();
+      queueWait.record(startedAt - enqueuedAt);
+      try {
+        future.complete(task.get());
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      } finally {
+        execution.record(System.nanoTime() - startedAt);
+      }
+    });
+    return future;
+  }
+
+  public CompletableFuture<String> encode(String rawPassword) {
+    return submit(() -> passwordEncoder.encode(rawPassword));
+  }
+
+  /**
+   * Comprueba la contraseña contra su hash. Si el costo del hash no es el calibrado, devuelve
+   * además el nuevo hash para guardarlo; el future falla con BadCredentialsException si no coincide.
+   *
+   * @throws RejectedExecutionException si la cola de hashing está llena
+   */
+  public CompletableFuture<Optional<String>> verify(String rawPassword, String encodedPassword) {
+    return submit(() -> {
+      if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+        throw new BadCredentialsException("Bad credentials");
+      }
+      return passwordEncoder.upgradeEncoding(encodedPassword)
+              ? Optional.of(passwordEncoder.encode(rawPassword))
+              : Optional.empty();
+    });
+  }
+
+  /**
+   * Hashea un lote en paralelo sobre el mismo pool. Nunca tiene más tareas en vuelo que
+   * hilos, de modo que los signin encolados se siguen atendiendo durante una importación.
+   */
+  public List<String> encodeAll(List<String> rawPasswords) {
+    Semaphore inFlight = new Semaphore(executor.getCorePoolSize());
+    List<CompletableFuture<String>> hashes = new ArrayList<>(rawPasswords.size());
+    for (String rawPassword : rawPasswords) {
+      inFlight.acquireUninterruptibly();
+      CompletableFuture<String> hash = submitWhenAccepted(() -> passwordEncoder.encode(rawPassword));
+      hash.whenComplete((value, error) -> inFlight.release());
+      hashes.add(hash);
+    }
+    return hashes.stream().map(CompletableFuture::join).collect(Collectors.toList());
+  }
+
+  // Los reintentos de un lote no son respuestas 503: se cuentan aparte de "rejected"
+  private <T> CompletableFuture<T> submitWhenAccepted(Supplier<T> task) {
+    while (true) {
+      try {
+        return enqueue(task);
+      } catch (RejectedExecutionException e) {
+        batchRetries.increment();
+        try {
+          Thread.sleep(BATCH_RETRY_DELAY_MS);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+      }
+    }
+  }
+
+  public Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    metrics.put("poolSize", executor.getPoolSize());
+    metrics.put("activeThreads", executor.getActiveCount());
+    metrics.put("queued", executor.getQueue().size());
+    metrics.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+    metrics.put("completed", executor.getCompletedTaskCount());
+    metrics.put("rejected", rejected.sum());
+    metrics.put("batchRetries", batchRetries.sum());
+    metrics.put("avgQueueWaitMs", queueWait.averageMillis());
+    metrics.put("maxQueueWaitMs", queueWait.maxMillis());
+    metrics.put("avgHashingMs", execution.averageMillis());
+    metrics.put("maxHashingMs", execution.maxMillis());
+    return metrics;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  private static class LatencyStats {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    double averageMillis() {
+      long samples = count.sum();
+      return samples == 0 ? 0.0 : totalNanos.sum() / (double) samples / 1_000_000.0;
+    }
+
+    double maxMillis() {
+      return maxNanos.get() / 1_000_000.0;
+    }
+  }
+}
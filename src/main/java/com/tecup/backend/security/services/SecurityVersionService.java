@@ -0,0 +1,45 @@
+package com.tecup.backend.security.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.tecup.backend.models.User;
+import com.tecup.backend.payload.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Versión de seguridad vigente por usuario. Un JWT sin estado solo es válido si
+ * su claim "sv" coincide con la versión actual del usuario.
+ */
+@Service
+public class SecurityVersionService {
+  private final UserRepository userRepository;
+
+  private final LoadingCache<Long, Integer> versions;
+
+  public SecurityVersionService(UserRepository userRepository,
+                                @Value("${bezkoder.app.securityVersionCacheMaxSize:100000}") long maxSize) {
+    this.userRepository = userRepository;
+    this.versions = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .build(userId -> userRepository.findSecurityVersionById(userId).orElse(null));
+  }
+
+  public Integer currentVersion(Long userId) {
+    return versions.get(userId);
+  }
+
+  /**
+   * Incrementa la versión del usuario antes de guardar un cambio de roles.
+   */
+  public void bump(User user) {
+    user.setSecurityVersion(user.getSecurityVersion() + 1);
+  }
+
+  /**
+   * Publica la versión ya persistida para que los tokens anteriores dejen de aceptarse.
+   */
+  public void publish(User user) {
+    versions.asMap().merge(user.getId(), user.getSecurityVersion(), Math::max);
+  }
+}
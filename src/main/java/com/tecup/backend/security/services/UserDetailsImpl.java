@@ -1,5 +1,6 @@
 package com.tecup.backend.security.services;
 
+import com.tecup.backend.models.ERole;
 import com.tecup.backend.models.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.security.core.GrantedAuthority;
@@ -25,13 +26,27 @@ public class UserDetailsImpl implements UserDetails {
 
   private Collection<? extends GrantedAuthority> authorities;
 
+  private int securityVersion;
+
+  // Máscara de bits de ERole para la autorización con @AllowedRoles
+  private final int roleMask;
+
   public UserDetailsImpl(Long id, String username, String email, String password,
                          Collection<? extends GrantedAuthority> authorities) {
+    this(id, username, email, password, authorities, 0);
+  }
+
+  public UserDetailsImpl(Long id, String username, String email, String password,
+                         Collection<? extends GrantedAuthority> authorities, int securityVersion) {
     this.id = id;
     this.username = username;
     this.email = email;
     this.password = password;
     this.authorities = authorities;
+    this.securityVersion = securityVersion;
+    this.roleMask = ERole.maskOfAuthorities(authorities.stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toList()));
   }
 
   public static UserDetailsImpl build(User user) {
@@ -44,7 +59,8 @@ public class UserDetailsImpl implements UserDetails {
             user.getUsername(),
             user.getEmail(),
             user.getPassword(),
-            authorities);
+            authorities,
+            user.getSecurityVersion());
   }
 
   @Override
@@ -60,6 +76,14 @@ public class UserDetailsImpl implements UserDetails {
     return email;
   }
 
+  public int getSecurityVersion() {
+    return securityVersion;
+  }
+
+  public int getRoleMask() {
+    return roleMask;
+  }
+
   @Override
   public String getPassword() {
     return password;
@@ -0,0 +1,147 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.payload.repository.EventRepository;
+import com.tecup.backend.payload.response.EventResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Catálogo de eventos en memoria con versión monótona. Las escrituras de EventController
+ * llaman a invalidate() después de confirmar; la siguiente lectura recarga desde la base de datos.
+ * La versión, junto con el arranque del proceso, se expone como ETag fuerte.
+ */
+@Service
+public class EventCatalogCache {
+    private static final Logger logger = LoggerFactory.getLogger(EventCatalogCache.class);
+
+    // Distingue versiones de procesos distintos: el contador vuelve a 0 al reiniciar
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder notModified = new LongAdder();
+
+    private final EventRepository eventRepository;
+
+    private volatile Snapshot snapshot;
+
+    public EventCatalogCache(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    public Snapshot catalog() {
+        Snapshot current = snapshot;
+        if (current != null && current.version == version.get()) {
+            hits.increment();
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            long readVersion = version.get();
+            if (current != null && current.version == readVersion) {
+                hits.increment();
+                return current;
+            }
+            loads.increment();
+            // Se etiqueta con la versión leída antes de la consulta: si una escritura llega
+            // durante la carga, la instantánea queda obsoleta y se recarga en la siguiente lectura
+            List<EventResponse> events = EventImageStorage.withThumbnails(eventRepository.findAllResponses());
+            current = new Snapshot(readVersion, etag(readVersion), events);
+            snapshot = current;
+            logger.debug("Catálogo de eventos recargado: versión {}, {} eventos", readVersion, events.size());
+            return current;
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    public String currentETag() {
+        return etag(version.get());
+    }
+
+    /**
+     * true si If-None-Match contiene el ETag actual del catálogo (o "*").
+     */
+    public boolean isNotModified(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String etag = currentETag();
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                notModified.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Snapshot current = snapshot;
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("version", version.get());
+        metrics.put("size", current != null ? current.events.size() : 0);
+        metrics.put("hits", hits.sum());
+        metrics.put("loads", loads.sum());
+        metrics.put("notModified", notModified.sum());
+        return metrics;
+    }
+
+    private String etag(long catalogVersion) {
+        return "\"events-" + epoch + "-" + catalogVersion + "\"";
+    }
+
+    public static final class Snapshot {
+        private final long version;
+        private final String etag;
+        private final List<EventResponse> events;
+        private final Map<Long, EventResponse> byId;
+
+        private Snapshot(long version, String etag, List<EventResponse> events) {
+            this.version = version;
+            this.etag = etag;
+            this.events = Collections.unmodifiableList(events);
+            Map<Long, EventResponse> index = new LinkedHashMap<>();
+            events.forEach(event -> index.put(event.getId(), event));
+            this.byId = index;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String getETag() {
+            return etag;
+        }
+
+        public List<EventResponse> getEvents() {
+            return events;
+        }
+
+        public EventResponse getEvent(Long id) {
+            return byId.get(id);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.payload.repository.*;
+import com.tecup.backend.payload.response.EventDeletionResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Borra un evento con sentencias DELETE por conjunto, de las hojas hacia la raíz,
+ * sin cargar grupos, inscripciones ni puntajes en memoria.
+ */
+@Service
+public class EventDeletionService {
+    private static final Logger logger = LoggerFactory.getLogger(EventDeletionService.class);
+
+    private final EventRepository eventRepository;
+    private final GroupEventRepository groupEventRepository;
+    private final InscriptionRepository inscriptionRepository;
+    private final JuryRepository juryRepository;
+    private final ScoreRepository scoreRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    public EventDeletionService(EventRepository eventRepository,
+                                GroupEventRepository groupEventRepository,
+                                InscriptionRepository inscriptionRepository,
+                                JuryRepository juryRepository,
+                                ScoreRepository scoreRepository,
+                                WaitlistEntryRepository waitlistEntryRepository) {
+        this.eventRepository = eventRepository;
+        this.groupEventRepository = groupEventRepository;
+        this.inscriptionRepository = inscriptionRepository;
+        this.juryRepository = juryRepository;
+        this.scoreRepository = scoreRepository;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+    }
+
+    /**
+     * Elimina el evento y todo lo que depende de él en una sola transacción y devuelve los conteos.
+     */
+    @Transactional
+    public EventDeletionResponse delete(Long eventId) {
+        int scores = scoreRepository.deleteByEventId(eventId);
+        int inscriptions = inscriptionRepository.deleteByEventId(eventId);
+        waitlistEntryRepository.deleteByEventId(eventId);
+        int juries = juryRepository.deleteByEventId(eventId);
+        int groups = groupEventRepository.deleteByEventId(eventId);
+        eventRepository.deleteByIdInBulk(eventId);
+        logger.info("Evento {} eliminado: {} puntajes, {} inscripciones, {} jurados, {} grupos",
+                eventId, scores, inscriptions, juries, groups);
+        return new EventDeletionResponse("Evento y sus datos asociados eliminados exitosamente.",
+                eventId, scores, inscriptions, juries, groups);
+    }
+}
@@ -0,0 +1,443 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.payload.response.EventResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Imágenes de eventos en disco local: {dir}/{eventId}/{versión}/{variante}.{ext}.
+ * La versión es un hash del contenido, así que cada URL es inmutable y puede cachearse
+ * indefinidamente. Las miniaturas se generan una sola vez al subir la imagen.
+ */
+@Service
+public class EventImageStorage {
+    private static final Logger logger = LoggerFactory.getLogger(EventImageStorage.class);
+
+    public static final String ORIGINAL = "original";
+
+    // Variante -> ancho máximo en píxeles; "card" es la que usa el catálogo
+    public static final Map<String, Integer> THUMBNAIL_WIDTHS = Map.of(
+            "thumb", 200,
+            "card", 480,
+            "detail", 1200);
+
+    public static final String CATALOG_VARIANT = "card";
+
+    private static final Pattern LOCAL_URL = Pattern.compile("^/api/events/(\\d+)/image/([0-9a-f]{16})/original\\.(png|jpg|gif)$");
+    private static final Pattern FILE_NAME = Pattern.compile("^([a-z]+)\\.(png|jpg|gif)$");
+    private static final Pattern VERSION = Pattern.compile("^[0-9a-f]{16}$");
+
+    private static final String UNSUPPORTED_FORMAT = "Formato de imagen no soportado (use PNG, JPEG o GIF).";
+
+    private final Path root;
+    private final long maxPixels;
+
+    // Un lock por franja de eventos: serializa subidas y borrados del mismo evento
+    private final Lock[] locks = new Lock[64];
+
+    public EventImageStorage(@Value("${bezkoder.app.eventImageDir:uploads/events}") String directory,
+                             @Value("${bezkoder.app.eventImageMaxPixels:25000000}") long maxPixels) {
+        this.root = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxPixels = maxPixels;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(root);
+        logger.info("Imágenes de eventos en {}", root);
+    }
+
+    /**
+     * Guarda la imagen original y sus miniaturas, entrega la URL de la original a
+     * {@code onStored} (que la persiste en el evento) y solo después borra las versiones
+     * anteriores. Las subidas del mismo evento se serializan: la versión que queda en disco es
+     * siempre la última que se guardó en la base de datos. Si {@code onStored} falla, la
+     * versión anterior se conserva.
+     *
+     * @throws IllegalArgumentException si el contenido no es una imagen PNG, JPEG o GIF o supera
+     *                                  el máximo de píxeles configurado
+     */
+    public String replace(Long eventId, byte[] content, Consumer<String> onStored) throws IOException {
+        Lock lock = lockFor(eventId);
+        lock.lock();
+        try {
+            String imageUrl = store(eventId, content);
+            onStored.accept(imageUrl);
+            Matcher matcher = LOCAL_URL.matcher(imageUrl);
+            if (matcher.matches()) {
+                try {
+                    deleteOtherVersions(root.resolve(Long.toString(eventId)), matcher.group(2));
+                } catch (IOException e) {
+                    // La nueva imagen ya está publicada; las versiones viejas se borran en la próxima subida
+                    logger.warn("No se pudieron borrar versiones anteriores del evento {}: {}", eventId, e.getMessage());
+                }
+            }
+            return imageUrl;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String store(Long eventId, byte[] content) throws IOException {
+        DecodedImage decoded = decode(content);
+        String format = decoded.format;
+        BufferedImage image = decoded.image;
+
+        String version = contentVersion(content);
+        Path eventDir = root.resolve(Long.toString(eventId));
+        Path target = eventDir.resolve(version);
+        if (!Files.isDirectory(target)) {
+            // Se escribe en un directorio temporal y se publica con un solo move
+            Files.createDirectories(eventDir);
+            Path staging = Files.createTempDirectory(eventDir, ".upload-");
+            try {
+                Files.write(staging.resolve(ORIGINAL + "." + format), content);
+                String thumbnailFormat = thumbnailFormat(format);
+                for (Map.Entry<String, Integer> variant : THUMBNAIL_WIDTHS.entrySet()) {
+                    BufferedImage thumbnail = scale(image, variant.getValue(), "png".equals(thumbnailFormat));
+                    Path file = staging.resolve(variant.getKey() + "." + thumbnailFormat);
+                    if (!ImageIO.write(thumbnail, "jpg".equals(thumbnailFormat) ? "jpeg" : thumbnailFormat, file.toFile())) {
+                        throw new IOException("No hay escritor de imágenes para " + thumbnailFormat);
+                    }
+                }
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+                // Otra subida con el mismo contenido ganó la carrera
+                deleteRecursively(staging);
+            } catch (IOException | RuntimeException e) {
+                deleteRecursively(staging);
+                throw e;
+            }
+        }
+        return url(eventId, version, ORIGINAL, format);
+    }
+
+    /**
+     * Archivo de una variante, o null si la versión o el nombre no son válidos o no existen.
+     */
+    public Path resolve(Long eventId, String version, String fileName) {
+        if (!VERSION.matcher(version).matches()) {
+            return null;
+        }
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()
+                || !(ORIGINAL.equals(matcher.group(1)) || THUMBNAIL_WIDTHS.containsKey(matcher.group(1)))) {
+            return null;
+        }
+        Path file = root.resolve(Long.toString(eventId)).resolve(version).resolve(fileName);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * Escribe una variante con ETag, cache inmutable y soporte de un rango de bytes.
+     * Con el conector NIO de Tomcat se usa sendfile; si no, FileChannel.transferTo.
+     */
+    public void serve(Path file, String etag, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = Files.size(file);
+        response.setHeader("ETag", etag);
+        response.setHeader("Cache-Control", "private, max-age=31536000, immutable");
+        response.setHeader("Accept-Ranges", "bytes");
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader("Range");
+        String ifRange = request.getHeader("If-Range");
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader("Content-Range", "bytes */" + length);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(contentType(file));
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream output = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(output);
+            long position = start;
+            while (count > 0) {
+                long sent = channel.transferTo(position, count, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                count -= sent;
+            }
+            output.flush();
+        }
+    }
+
+    /**
+     * {inicio, fin} para un único rango satisfacible, {} si la cabecera se ignora
+     * (varios rangos o sintaxis inválida) y null si no es satisfacible.
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // Sufijo: los últimos N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+                if (end < start) {
+                    return last.isEmpty() || Long.parseLong(last) >= start ? null : new long[0];
+                }
+            }
+            return start < length ? new long[]{start, end} : null;
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    public void delete(Long eventId) {
+        Lock lock = lockFor(eventId);
+        lock.lock();
+        try {
+            deleteRecursively(root.resolve(Long.toString(eventId)));
+        } catch (IOException e) {
+            logger.warn("No se pudieron borrar las imágenes del evento {}: {}", eventId, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lock lockFor(Long eventId) {
+        return locks[Math.floorMod(eventId.hashCode(), locks.length)];
+    }
+
+    /**
+     * Completa la miniatura de catálogo de cada evento a partir de su imagen.
+     */
+    public static List<EventResponse> withThumbnails(List<EventResponse> events) {
+        events.forEach(event -> event.setImgThumbnail(variantUrl(event.getImgEvent(), CATALOG_VARIANT)));
+        return events;
+    }
+
+    /**
+     * URL de una variante para una imagen subida; las URLs externas se devuelven tal cual.
+     */
+    public static String variantUrl(String imgEvent, String variant) {
+        if (imgEvent == null) {
+            return null;
+        }
+        Matcher matcher = LOCAL_URL.matcher(imgEvent);
+        if (!matcher.matches()) {
+            return imgEvent;
+        }
+        return url(Long.parseLong(matcher.group(1)), matcher.group(2), variant, thumbnailFormat(matcher.group(3)));
+    }
+
+    public static String contentType(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".png")) {
+            return "image/png";
+        }
+        if (name.endsWith(".gif")) {
+            return "image/gif";
+        }
+        return "image/jpeg";
+    }
+
+    private static String url(Long eventId, String version, String variant, String format) {
+        return "/api/events/" + eventId + "/image/" + version + "/" + variant + "." + format;
+    }
+
+    // PNG y GIF pueden tener transparencia: sus miniaturas se guardan en PNG
+    private static String thumbnailFormat(String format) {
+        return "jpg".equals(format) ? "jpg" : "png";
+    }
+
+    private static final class DecodedImage {
+        private final String format;
+        private final BufferedImage image;
+
+        private DecodedImage(String format, BufferedImage image) {
+            this.format = format;
+            this.image = image;
+        }
+    }
+
+    /**
+     * Detecta el formato y lee las dimensiones de la cabecera antes de decodificar: un archivo
+     * pequeño puede declarar millones de píxeles y reservar gigabytes al decodificarse.
+     */
+    private DecodedImage decode(byte[] content) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException(UNSUPPORTED_FORMAT);
+            }
+            ImageReader reader = readers.next();
+            try {
+                String format = normalizeFormat(reader.getFormatName());
+                reader.setInput(input, true, true);
+                long width = reader.getWidth(0);
+                long height = reader.getHeight(0);
+                if (width <= 0 || height <= 0) {
+                    throw new IllegalArgumentException("El archivo no es una imagen válida.");
+                }
+                if (width * height > maxPixels) {
+                    throw new IllegalArgumentException("La imagen es demasiado grande (" + width + "x" + height
+                            + " píxeles, máximo " + maxPixels + ").");
+                }
+                BufferedImage image = reader.read(0);
+                if (image == null) {
+                    throw new IllegalArgumentException("El archivo no es una imagen válida.");
+                }
+                return new DecodedImage(format, image);
+            } catch (IIOException e) {
+                throw new IllegalArgumentException("El archivo no es una imagen válida.", e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static String normalizeFormat(String formatName) {
+        switch (formatName.toLowerCase(Locale.ROOT)) {
+            case "png":
+                return "png";
+            case "jpeg":
+            case "jpg":
+                return "jpg";
+            case "gif":
+                return "gif";
+            default:
+                throw new IllegalArgumentException(UNSUPPORTED_FORMAT);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int maxWidth, boolean alpha) {
+        int width = Math.min(maxWidth, source.getWidth());
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (!alpha) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static String contentVersion(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteOtherVersions(Path eventDir, String version) throws IOException {
+        try (Stream<Path> versions = Files.list(eventDir)) {
+            for (Path other : (Iterable<Path>) versions::iterator) {
+                String name = other.getFileName().toString();
+                // Los directorios ".upload-" son subidas en curso
+                if (!name.equals(version) && !name.startsWith(".")) {
+                    deleteRecursively(other);
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
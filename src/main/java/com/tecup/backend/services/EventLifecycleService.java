@@ -0,0 +1,70 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.payload.repository.EventRepository;
+import com.tecup.backend.payload.response.EventResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Ciclo de vida de los eventos: un job cierra en bloque (statusEvent = false) los eventos
+ * cuya fecha de fin ya pasó. Los eventos cerrados no cambian salvo que un organizador los edite
+ * o elimine, así que su listado se sirve desde una instantánea inmutable que se descarta cuando
+ * cambia la versión del catálogo.
+ */
+@Service
+public class EventLifecycleService {
+    private static final Logger logger = LoggerFactory.getLogger(EventLifecycleService.class);
+
+    private final EventRepository eventRepository;
+
+    private final EventCatalogCache eventCatalogCache;
+
+    private volatile ClosedSnapshot closedSnapshot;
+
+    public EventLifecycleService(EventRepository eventRepository, EventCatalogCache eventCatalogCache) {
+        this.eventRepository = eventRepository;
+        this.eventCatalogCache = eventCatalogCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${bezkoder.app.eventLifecycleMs:60000}",
+            fixedDelayString = "${bezkoder.app.eventLifecycleMs:60000}")
+    public void closeFinishedEvents() {
+        int closed = eventRepository.closeFinished(new Date());
+        if (closed > 0) {
+            eventCatalogCache.invalidate();
+            logger.info("{} eventos finalizados cerrados", closed);
+        }
+    }
+
+    public List<EventResponse> closedEvents() {
+        ClosedSnapshot current = closedSnapshot;
+        long version = eventCatalogCache.getVersion();
+        if (current != null && current.version == version) {
+            return current.events;
+        }
+        // Misma regla que el catálogo: se etiqueta con la versión leída antes de consultar
+        List<EventResponse> events = Collections.unmodifiableList(
+                EventImageStorage.withThumbnails(eventRepository.findClosedResponses()));
+        closedSnapshot = new ClosedSnapshot(version, events);
+        return events;
+    }
+
+    private static final class ClosedSnapshot {
+        private final long version;
+        private final List<EventResponse> events;
+
+        private ClosedSnapshot(long version, List<EventResponse> events) {
+            this.version = version;
+            this.events = events;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.models.Event;
+import com.tecup.backend.payload.repository.EventRepository;
+import com.tecup.backend.payload.response.EventResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre nombre, descripción y lugar de los eventos.
+ * Los términos se normalizan sin tildes ni mayúsculas; cada término de la consulta
+ * se busca como prefijo y todos deben aparecer en el evento. El orden es por relevancia
+ * (peso del campo por idf, con menor peso para coincidencias parciales).
+ */
+@Service
+public class EventSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float PLACE_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "al", "con", "de", "del", "el", "en", "la", "las", "lo", "los",
+            "o", "para", "por", "que", "se", "su", "un", "una", "y");
+
+    private final EventRepository eventRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // término -> (id de evento -> peso acumulado en sus campos)
+    private NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    // id de evento -> términos indexados, para poder retirarlo
+    private Map<Long, Set<String>> documents = new HashMap<>();
+
+    public EventSearchIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        NavigableMap<String, Map<Long, Float>> newPostings = new TreeMap<>();
+        Map<Long, Set<String>> newDocuments = new HashMap<>();
+
+        // La carga se hace con el bloqueo tomado para que ninguna actualización incremental se pierda en el cambio
+        lock.writeLock().lock();
+        try {
+            for (EventResponse event : eventRepository.findAllResponses()) {
+                add(newPostings, newDocuments, event.getId(), event.getName(), event.getDescription(), event.getPlace());
+            }
+            postings = newPostings;
+            documents = newDocuments;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Índice de búsqueda de eventos reconstruido: {} eventos, {} términos",
+                newDocuments.size(), newPostings.size());
+    }
+
+    /**
+     * Indexa (o reindexa) un evento recién guardado.
+     */
+    public void index(Event event) {
+        lock.writeLock().lock();
+        try {
+            remove(postings, documents, event.getId());
+            add(postings, documents, event.getId(), event.getName(), event.getDescription(), event.getPlace());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            remove(postings, documents, eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids de los eventos que contienen todos los términos de la consulta, de mayor a menor relevancia.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Float> scores = null;
+        lock.readLock().lock();
+        try {
+            int totalDocuments = Math.max(1, documents.size());
+            for (String term : terms) {
+                // Mejor coincidencia del término en cada evento; solo sobreviven los que ya cumplían los anteriores
+                Map<Long, Float> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Float>> entry : prefixRange(term).entrySet()) {
+                    Map<Long, Float> matches = entry.getValue();
+                    float idf = (float) Math.log(1 + (double) totalDocuments / matches.size());
+                    float factor = entry.getKey().length() == term.length() ? 1f : PREFIX_FACTOR;
+                    for (Map.Entry<Long, Float> match : matches.entrySet()) {
+                        if (scores == null || scores.containsKey(match.getKey())) {
+                            termScores.merge(match.getKey(), match.getValue() * idf * factor, Math::max);
+                        }
+                    }
+                }
+                if (scores != null) {
+                    for (Map.Entry<Long, Float> entry : termScores.entrySet()) {
+                        entry.setValue(entry.getValue() + scores.get(entry.getKey()));
+                    }
+                }
+                scores = termScores;
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SortedMap<String, Map<Long, Float>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !STOPWORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static void add(NavigableMap<String, Map<Long, Float>> postings, Map<Long, Set<String>> documents,
+                            Long eventId, String name, String description, String place) {
+        Map<String, Float> weights = new HashMap<>();
+        tokenize(name).forEach(term -> weights.merge(term, NAME_WEIGHT, Float::sum));
+        tokenize(place).forEach(term -> weights.merge(term, PLACE_WEIGHT, Float::sum));
+        tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Float::sum));
+
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(eventId, weight));
+        documents.put(eventId, weights.keySet());
+    }
+
+    private static void remove(NavigableMap<String, Map<Long, Float>> postings, Map<Long, Set<String>> documents,
+                               Long eventId) {
+        Set<String> terms = documents.remove(eventId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(eventId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
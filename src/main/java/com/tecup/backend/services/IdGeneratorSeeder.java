@@ -0,0 +1,54 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.models.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Alinea id_generators con los ids que ya existen. Las tablas se crearon con IDENTITY, así que
+ * antes del primer INSERT el generador debe arrancar por encima de max(id) para no repetir ids.
+ */
+@Component
+@DependsOn("entityManagerFactory") // el esquema (incluida id_generators) ya está actualizado
+public class IdGeneratorSeeder {
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorSeeder.class);
+
+    // pkColumnValue del generador -> tabla de la entidad (coinciden)
+    private static final List<String> TABLES = List.of("group_events", "inscriptions", "scores", "waitlist_entries");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdGeneratorSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void seed() {
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            // El optimizador pooled entrega el bloque (next_val - allocationSize, next_val]
+            long minimum = maxId + 1 + IdGenerators.ALLOCATION_SIZE;
+
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "select " + IdGenerators.VALUE_COLUMN + " from " + IdGenerators.TABLE
+                            + " where " + IdGenerators.NAME_COLUMN + " = ?", table);
+            if (rows.isEmpty()) {
+                jdbcTemplate.update("insert into " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", "
+                        + IdGenerators.VALUE_COLUMN + ") values (?, ?)", table, minimum);
+                logger.info("Generador de ids de {} inicializado en {}", table, minimum);
+            } else if (((Number) rows.get(0).get(IdGenerators.VALUE_COLUMN)).longValue() < minimum) {
+                jdbcTemplate.update("update " + IdGenerators.TABLE + " set " + IdGenerators.VALUE_COLUMN
+                        + " = ? where " + IdGenerators.NAME_COLUMN + " = ? and " + IdGenerators.VALUE_COLUMN + " < ?",
+                        minimum, table, minimum);
+                logger.info("Generador de ids de {} adelantado a {}", table, minimum);
+            }
+        }
+    }
+}
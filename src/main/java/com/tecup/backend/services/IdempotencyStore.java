@@ -0,0 +1,123 @@
+package com.tecup.backend.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Respuestas de escrituras recordadas por cabecera {@code Idempotency-Key}, por usuario y
+ * operación, en un cache acotado. La primera solicitud ejecuta la operación; los reintentos con
+ * la misma clave esperan ese resultado (si sigue en curso) o lo reciben del cache, sin volver a
+ * tocar la base de datos.
+ */
+@Service
+public class IdempotencyStore {
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> responses;
+    private final long maxWaitSeconds;
+
+    public IdempotencyStore(@Value("${bezkoder.app.idempotencyMaxKeys:10000}") long maxKeys,
+                            @Value("${bezkoder.app.idempotencyTtlSeconds:600}") long ttlSeconds,
+                            @Value("${bezkoder.app.idempotencyMaxWaitSeconds:10}") long maxWaitSeconds) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.maxWaitSeconds = maxWaitSeconds;
+    }
+
+    /**
+     * Ejecuta {@code action} una sola vez por (usuario, operación, clave). Sin clave se ejecuta
+     * siempre. {@code fingerprint} resume el cuerpo de la solicitud: reutilizar la clave con otro
+     * cuerpo responde 422. Los errores 5xx y las excepciones no se recuerdan, para que el cliente
+     * pueda reintentar.
+     */
+    public ResponseEntity<?> execute(String username, String operation, String key, String fingerprint,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body("Error: " + HEADER + " inválida.");
+        }
+
+        String cacheKey = username + '\n' + operation + '\n' + key;
+        Entry created = new Entry(fingerprint);
+        // get() registra aciertos y fallos en las estadísticas del cache
+        Entry entry = responses.get(cacheKey, ignored -> created);
+        if (entry == created) {
+            return run(cacheKey, created, action);
+        }
+
+        if (!entry.fingerprint.equals(fingerprint)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body("Error: " + HEADER + " ya usada con otra solicitud.");
+        }
+        try {
+            ResponseEntity<?> response = entry.response.get(maxWaitSeconds, TimeUnit.SECONDS);
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(response.getBody());
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Error: La solicitud original sigue en proceso, intente nuevamente.");
+        } catch (ExecutionException e) {
+            // La solicitud original falló y ya no está en el cache: este reintento la ejecuta de nuevo
+            return execute(username, operation, key, fingerprint, action);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    private ResponseEntity<?> run(String cacheKey, Entry entry, Supplier<ResponseEntity<?>> action) {
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            responses.asMap().remove(cacheKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            // Igual que una excepción: los reintentos en espera ejecutan la operación de nuevo
+            responses.asMap().remove(cacheKey, entry);
+            entry.response.completeExceptionally(new IllegalStateException("Respuesta " + response.getStatusCode()));
+            return response;
+        }
+        entry.response.complete(response);
+        return response;
+    }
+
+    public CacheStats getStats() {
+        return responses.stats();
+    }
+
+    public long getSize() {
+        return responses.estimatedSize();
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.tecup.backend.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cola de admisión para picos de inscripciones. Cada solicitud recibe un ticket al instante y
+ * entra en una cola acotada por evento; un pool pequeño de workers atiende los eventos por turnos,
+ * tomando lotes en orden de llegada y pasando cada ticket por InscriptionService. Así la
+ * concurrencia contra la base de datos queda fija en el número de workers.
+ */
+@Service
+public class InscriptionAdmissionQueue {
+    private static final Logger logger = LoggerFactory.getLogger(InscriptionAdmissionQueue.class);
+
+    public enum Status { QUEUED, PROCESSING, DONE }
+
+    private final InscriptionService inscriptionService;
+
+    private final ThreadPoolExecutor workers;
+
+    private final int queueCapacity;
+
+    private final int batchSize;
+
+    private final Map<Long, EventQueue> queues = new ConcurrentHashMap<>();
+
+    // Tickets resueltos o pendientes; los resueltos se olvidan tras un tiempo
+    private final Cache<String, Ticket> tickets;
+
+    private final LongAdder accepted = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder processed = new LongAdder();
+
+    private volatile boolean closed;
+
+    public InscriptionAdmissionQueue(InscriptionService inscriptionService,
+                                     @Value("${bezkoder.app.admissionWorkers:2}") int workerCount,
+                                     @Value("${bezkoder.app.admissionQueueCapacity:1000}") int queueCapacity,
+                                     @Value("${bezkoder.app.admissionBatchSize:50}") int batchSize,
+                                     @Value("${bezkoder.app.admissionTicketTtlSeconds:600}") long ticketTtlSeconds) {
+        this.inscriptionService = inscriptionService;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ticketTtlSeconds))
+                .build();
+        AtomicInteger threadCount = new AtomicInteger();
+        // La cola del pool contiene a lo sumo un turno por evento con tickets pendientes
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "inscription-admission-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Encola una inscripción y devuelve su ticket.
+     *
+     * @throws RejectedExecutionException si la cola del evento está llena o la aplicación se está deteniendo
+     */
+    public Ticket submit(String username, Long eventId, boolean joinWaitlist) {
+        while (true) {
+            EventQueue queue = queues.computeIfAbsent(eventId, id -> new EventQueue(id, queueCapacity));
+            Ticket ticket;
+            // Número de orden y encolado juntos, para que la posición refleje el orden real
+            synchronized (queue) {
+                // Se comprueba con la cola tomada: shutdown() también la toma para vaciarla
+                if (closed) {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Cola de admisión cerrada");
+                }
+                // La cola se vació y salió del mapa mientras tanto: se reintenta con una nueva
+                if (queue.retired) {
+                    continue;
+                }
+                ticket = new Ticket(UUID.randomUUID().toString(), username, eventId, joinWaitlist, queue.enqueued.get() + 1);
+                if (!queue.pending.offer(ticket)) {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Cola de admisión llena para el evento " + eventId);
+                }
+                queue.enqueued.incrementAndGet();
+            }
+            tickets.put(ticket.id, ticket);
+            accepted.increment();
+            schedule(queue);
+            return ticket;
+        }
+    }
+
+    /**
+     * Ticket del usuario, o null si no existe, expiró o pertenece a otro usuario.
+     */
+    public Ticket find(String ticketId, String username) {
+        Ticket ticket = tickets.getIfPresent(ticketId);
+        return ticket != null && ticket.username.equals(username) ? ticket : null;
+    }
+
+    /**
+     * Tickets por delante de este en la cola de su evento (0 si ya se está procesando).
+     */
+    public long position(Ticket ticket) {
+        EventQueue queue = queues.get(ticket.eventId);
+        return queue == null || ticket.status != Status.QUEUED ? 0 : Math.max(0, ticket.sequence - queue.taken.get() - 1);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("workers", workers.getPoolSize());
+        metrics.put("activeWorkers", workers.getActiveCount());
+        metrics.put("pending", queues.values().stream().mapToInt(queue -> queue.pending.size()).sum());
+        metrics.put("accepted", accepted.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("processed", processed.sum());
+        return metrics;
+    }
+
+    // Los tickets que siguen en cola se resuelven con error para no dejar esperando a quien consulta
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        workers.shutdown();
+        List<Ticket> abandoned = new ArrayList<>();
+        for (EventQueue queue : queues.values()) {
+            synchronized (queue) {
+                queue.retired = true;
+                queue.pending.drainTo(abandoned);
+                queues.remove(queue.eventId, queue);
+            }
+        }
+        for (Ticket ticket : abandoned) {
+            ticket.status = Status.DONE;
+            ticket.result.completeExceptionally(new RejectedExecutionException("Cola de admisión cerrada"));
+        }
+        if (!abandoned.isEmpty()) {
+            logger.warn("Se cerraron {} tickets de inscripción pendientes al detener la aplicación", abandoned.size());
+        }
+    }
+
+    // Un evento tiene como mucho un turno en el pool: así se respeta el orden de llegada
+    private void schedule(EventQueue queue) {
+        if (queue.scheduled.compareAndSet(false, true)) {
+            workers.execute(() -> drain(queue));
+        }
+    }
+
+    private void drain(EventQueue queue) {
+        try {
+            for (int i = 0; i < batchSize; i++) {
+                Ticket ticket = queue.pending.poll();
+                if (ticket == null) {
+                    break;
+                }
+                queue.taken.incrementAndGet();
+                process(ticket);
+            }
+        } finally {
+            boolean remaining;
+            synchronized (queue) {
+                queue.scheduled.set(false);
+                remaining = !queue.pending.isEmpty();
+                // Sin tickets pendientes la cola sale del mapa; submit() creará otra si hace falta
+                if (!remaining) {
+                    queue.retired = true;
+                    queues.remove(queue.eventId, queue);
+                }
+            }
+            // Si quedan tickets, el evento vuelve al final del pool y cede el turno a los demás
+            if (remaining) {
+                schedule(queue);
+            }
+        }
+    }
+
+    private void process(Ticket ticket) {
+        ticket.status = Status.PROCESSING;
+        try {
+            ticket.result.complete(inscriptionService.create(ticket.username, ticket.eventId, ticket.joinWaitlist));
+        } catch (DataIntegrityViolationException e) {
+            ticket.result.complete(InscriptionService.Outcome.ALREADY_INSCRIBED);
+        } catch (RuntimeException e) {
+            logger.error("Error procesando el ticket de inscripción {}: {}", ticket.id, e.getMessage());
+            ticket.result.completeExceptionally(e);
+        } finally {
+            ticket.status = Status.DONE;
+            processed.increment();
+        }
+    }
+
+    private static final class EventQueue {
+        private final Long eventId;
+        private final BlockingQueue<Ticket> pending;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong enqueued = new AtomicLong();
+        private final AtomicLong taken = new AtomicLong();
+        // Protegido por el monitor de la cola
+        private boolean retired;
+
+        private EventQueue(Long eventId, int capacity) {
+            this.eventId = eventId;
+            this.pending = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    public static final class Ticket {
+        private final String id;
+        private final String username;
+        private final Long eventId;
+        private final boolean joinWaitlist;
+        private final long sequence;
+        private final CompletableFuture<InscriptionService.Outcome> result = new CompletableFuture<>();
+        private volatile Status status = Status.QUEUED;
+
+        private Ticket(String id, String username, Long eventId, boolean joinWaitlist, long sequence) {
+            this.id = id;
+            this.username = username;
+            this.eventId = eventId;
+            this.joinWaitlist = joinWaitlist;
+            this.sequence = sequence;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Long getEventId() {
+            return eventId;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public CompletableFuture<InscriptionService.Outcome> getResult() {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.payload.response.InscriptionExportRow;
+import com.tecup.backend.util.XlsxStreamWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Exporta los participantes de un evento como CSV o XLSX. Las filas llegan del cursor de
+ * {@link InscriptionQueryService#exportEvent} y se escriben a la respuesta a medida que se
+ * leen, vaciando el buffer cada {@code exportFlushRows} filas.
+ */
+@Service
+public class InscriptionExportService {
+    private static final Logger logger = LoggerFactory.getLogger(InscriptionExportService.class);
+
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private static final String[] HEADER = {"ID", "Usuario", "Carrera", "Departamento", "Grupo", "Fecha de inscripción"};
+
+    private final InscriptionQueryService inscriptionQueryService;
+    private final int flushRows;
+
+    public InscriptionExportService(InscriptionQueryService inscriptionQueryService,
+                                    @Value("${bezkoder.app.exportFlushRows:500}") int flushRows) {
+        this.inscriptionQueryService = inscriptionQueryService;
+        this.flushRows = Math.max(1, flushRows);
+    }
+
+    public long writeCsv(Long eventId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // BOM para que Excel detecte UTF-8 al abrir el CSV
+        writer.write('\uFEFF');
+        writeCsvLine(writer, HEADER);
+
+        long rows = export(eventId, row -> writeCsvLine(writer, cells(row)), writer);
+        writer.flush();
+        logger.info("Exportación CSV del evento {}: {} filas", eventId, rows);
+        return rows;
+    }
+
+    public long writeXlsx(Long eventId, OutputStream out) throws IOException {
+        long rows;
+        try (XlsxStreamWriter xlsx = new XlsxStreamWriter(out, "Participantes")) {
+            xlsx.writeRow(HEADER);
+            rows = export(eventId, row -> xlsx.writeRow(cells(row)), xlsx);
+        }
+        logger.info("Exportación XLSX del evento {}: {} filas", eventId, rows);
+        return rows;
+    }
+
+    private interface RowWriter {
+        void write(InscriptionExportRow row) throws IOException;
+    }
+
+    private long export(Long eventId, RowWriter rowWriter, Flushable output) throws IOException {
+        long[] written = {0};
+        try {
+            inscriptionQueryService.exportEvent(eventId, row -> {
+                try {
+                    rowWriter.write(row);
+                    if (++written[0] % flushRows == 0) {
+                        output.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Cliente desconectado: se corta el cursor y se propaga como error de E/S
+            throw e.getCause();
+        }
+        return written[0];
+    }
+
+    private static String[] cells(InscriptionExportRow row) {
+        return new String[]{
+                String.valueOf(row.getInscriptionId()),
+                row.getUsername(),
+                row.getCareer(),
+                row.getDepartment(),
+                row.getGroup(),
+                format(row.getFechaInscripcion())
+        };
+    }
+
+    private static String format(Date date) {
+        return date != null ? DATE_FORMAT.format(Instant.ofEpochMilli(date.getTime())) : null;
+    }
+
+    private static void writeCsvLine(Writer writer, String[] cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvCell(cells[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180; además se neutralizan las fórmulas (=, +, -, @) al abrir el archivo en una hoja de cálculo
+    private static String csvCell(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
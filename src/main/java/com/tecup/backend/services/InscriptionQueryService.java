@@ -0,0 +1,157 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.payload.request.InscriptionFilterRequest;
+import com.tecup.backend.payload.response.InscriptionExportRow;
+import com.tecup.backend.payload.response.InscriptionResponse;
+import com.tecup.backend.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Listado de inscripciones como proyección (sin hidratar entidades), con filtros opcionales,
+ * paginación por keyset sobre (fecha_inscripcion, id) y un modo streaming que recorre un
+ * cursor de solo avance de la base de datos fila por fila (también usado por la exportación).
+ */
+@Service
+public class InscriptionQueryService {
+    private static final String SELECT = "select new com.tecup.backend.payload.response.InscriptionResponse("
+            + "i.id, u.username, e.name, i.fecha_inscripcion) "
+            + "from Inscription i join i.user u join i.event e left join i.group g ";
+
+    private static final String ORDER = " order by i.fecha_inscripcion, i.id";
+
+    private static final String EXPORT_SELECT = "select new com.tecup.backend.payload.response.InscriptionExportRow("
+            + "i.id, u.username, c.name, d.name, g.name, i.fecha_inscripcion) "
+            + "from Inscription i join i.user u left join u.career c left join c.department_id d left join i.group g "
+            + "where i.event.id = :eventId order by g.name, i.fecha_inscripcion, i.id";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public InscriptionQueryService(EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${bezkoder.app.inscriptionStreamFetchSize:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Connector/J sin useCursorFetch ignora el fetch size; Integer.MIN_VALUE activa su streaming fila a fila
+        boolean mysql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+        this.fetchSize = mysql ? Integer.MIN_VALUE : fetchSize;
+    }
+
+    /**
+     * Devuelve hasta {@code limit} filas posteriores a {@code after} (o desde el inicio si es nulo).
+     */
+    public List<InscriptionResponse> page(InscriptionFilterRequest filter, KeysetCursor after, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> predicates = predicates(filter, params);
+        if (after != null) {
+            // Mismo criterio que EventRepository: MySQL ordena los nulos primero
+            if (after.getDate() == null) {
+                predicates.add("((i.fecha_inscripcion is null and i.id > :afterId) or i.fecha_inscripcion is not null)");
+            } else {
+                predicates.add("(i.fecha_inscripcion > :afterDate or (i.fecha_inscripcion = :afterDate and i.id > :afterId))");
+                params.put("afterDate", after.getDate());
+            }
+            params.put("afterId", after.getId());
+        }
+
+        TypedQuery<InscriptionResponse> query = query(predicates, params);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    /**
+     * Recorre todas las filas que cumplen el filtro en orden (fecha_inscripcion, id) dentro de una
+     * transacción de solo lectura. El driver entrega las filas a medida que llegan (MySQL) o en
+     * bloques de fetchSize, así que la memoria usada no depende del total.
+     *
+     * @return cantidad de filas entregadas al consumidor
+     */
+    public long stream(InscriptionFilterRequest filter, Consumer<InscriptionResponse> consumer) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> predicates = predicates(filter, params);
+        return forEach(() -> query(predicates, params), consumer);
+    }
+
+    /**
+     * Participantes de un evento para exportar, agrupados por grupo; se recorren igual que en
+     * {@link #stream}.
+     */
+    public long exportEvent(Long eventId, Consumer<InscriptionExportRow> consumer) {
+        return forEach(() -> entityManager.createQuery(EXPORT_SELECT, InscriptionExportRow.class)
+                .setParameter("eventId", eventId), consumer);
+    }
+
+    // La consulta se crea dentro de la transacción para que el cursor viva en su conexión
+    private <T> long forEach(Supplier<TypedQuery<T>> querySupplier, Consumer<T> consumer) {
+        Long count = readOnlyTransaction.execute(status -> {
+            TypedQuery<T> query = querySupplier.get();
+            query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+            query.setHint(HibernateHints.HINT_READ_ONLY, true);
+            long rows = 0;
+            try (Stream<T> results = query.getResultStream()) {
+                Iterator<T> iterator = results.iterator();
+                while (iterator.hasNext()) {
+                    consumer.accept(iterator.next());
+                    rows++;
+                }
+            }
+            return rows;
+        });
+        return count != null ? count : 0;
+    }
+
+    private List<String> predicates(InscriptionFilterRequest filter, Map<String, Object> params) {
+        List<String> predicates = new ArrayList<>();
+        if (filter == null) {
+            return predicates;
+        }
+        if (filter.getEventId() != null) {
+            predicates.add("e.id = :eventId");
+            params.put("eventId", filter.getEventId());
+        }
+        if (filter.getGroupId() != null) {
+            predicates.add("g.id = :groupId");
+            params.put("groupId", filter.getGroupId());
+        }
+        if (filter.getDepartmentId() != null) {
+            predicates.add("g.department.id = :departmentId");
+            params.put("departmentId", filter.getDepartmentId());
+        }
+        if (filter.getFrom() != null) {
+            predicates.add("i.fecha_inscripcion >= :from");
+            params.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            // "to" es inclusivo: se compara contra el inicio del día siguiente
+            Calendar nextDay = Calendar.getInstance();
+            nextDay.setTime(filter.getTo());
+            nextDay.add(Calendar.DAY_OF_MONTH, 1);
+            predicates.add("i.fecha_inscripcion < :to");
+            params.put("to", nextDay.getTime());
+        }
+        return predicates;
+    }
+
+    private TypedQuery<InscriptionResponse> query(List<String> predicates, Map<String, Object> params) {
+        String jpql = SELECT + (predicates.isEmpty() ? "" : "where " + String.join(" and ", predicates)) + ORDER;
+        TypedQuery<InscriptionResponse> query = entityManager.createQuery(jpql, InscriptionResponse.class);
+        params.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -0,0 +1,263 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.models.*;
+import com.tecup.backend.payload.repository.EventRepository;
+import com.tecup.backend.payload.repository.GroupEventRepository;
+import com.tecup.backend.payload.repository.InscriptionRepository;
+import com.tecup.backend.payload.repository.UserRepository;
+import com.tecup.backend.payload.repository.WaitlistEntryRepository;
+import com.tecup.backend.payload.response.WaitlistPositionResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Alta y baja de inscripciones con control de cupo por grupo. El cupo se reserva con un UPDATE
+ * condicional sobre group_events.occupied_seats dentro de la misma transacción que inserta la
+ * inscripción: la admisión es O(1) y dos alumnos concurrentes no pueden sobrepasar el límite.
+ * Con un grupo lleno el alumno puede entrar a una lista de espera FIFO por grupo; todo cupo que
+ * se libera (baja, aumento de capacidad o corrección del contador) se entrega primero a la lista,
+ * en la misma transacción.
+ */
+@Service
+public class InscriptionService {
+    private static final Logger logger = LoggerFactory.getLogger(InscriptionService.class);
+
+    public enum Outcome {
+        CREATED("Inscripción creada exitosamente."),
+        USER_NOT_FOUND("Error: Usuario autenticado no encontrado."),
+        EVENT_NOT_FOUND("Error: Evento especificado no encontrado."),
+        ALREADY_INSCRIBED("Error: El usuario ya está inscrito en este evento."),
+        NO_DEPARTMENT("Error: El usuario no tiene un departamento asociado."),
+        NO_GROUP("Error: No se encontró un grupo para este evento y departamento."),
+        GROUP_FULL("Error: El grupo ha alcanzado el límite máximo de participantes."),
+        WAITLISTED("El grupo está lleno: se agregó a la lista de espera."),
+        ALREADY_WAITLISTED("Error: El usuario ya está en la lista de espera de este evento.");
+
+        private final String message;
+
+        Outcome(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final InscriptionRepository inscriptionRepository;
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final GroupEventRepository groupEventRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public InscriptionService(InscriptionRepository inscriptionRepository,
+                              UserRepository userRepository,
+                              EventRepository eventRepository,
+                              GroupEventRepository groupEventRepository,
+                              WaitlistEntryRepository waitlistEntryRepository,
+                              TransactionTemplate transactionTemplate) {
+        this.inscriptionRepository = inscriptionRepository;
+        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.groupEventRepository = groupEventRepository;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Transactional
+    public Outcome create(String username, Long eventId) {
+        return create(username, eventId, false);
+    }
+
+    /**
+     * La inscripción duplicada no se consulta antes: la rechaza la restricción única
+     * (user_id, event_id) al insertar, y la transacción revierte también la reserva del cupo.
+     *
+     * @param joinWaitlist si el grupo está lleno, entrar a su lista de espera en lugar de rechazar
+     * @throws DataIntegrityViolationException si el usuario ya está inscrito en el evento
+     */
+    @Transactional
+    public Outcome create(String username, Long eventId, boolean joinWaitlist) {
+        Optional<User> user = userRepository.findByUsername(username);
+        if (user.isEmpty()) {
+            return Outcome.USER_NOT_FOUND;
+        }
+
+        Optional<Event> event = eventRepository.findById(eventId);
+        if (event.isEmpty()) {
+            return Outcome.EVENT_NOT_FOUND;
+        }
+
+        // El grupo se determina por el departamento de la carrera del usuario
+        Career career = user.get().getCareer();
+        if (career == null || career.getDepartment_id() == null) {
+            return Outcome.NO_DEPARTMENT;
+        }
+        Optional<GroupEvent> group = groupEventRepository.findByEventAndDepartment(event.get(), career.getDepartment_id());
+        if (group.isEmpty()) {
+            return Outcome.NO_GROUP;
+        }
+
+        if (groupEventRepository.reserveSeat(group.get().getId(), event.get().getMax_participants_group()) == 0) {
+            if (joinWaitlist) {
+                return joinWaitlist(user.get(), event.get(), group.get());
+            }
+            // Camino lento (grupo lleno): sin INSERT, el duplicado se comprueba aquí para responder 409
+            return inscriptionRepository.existsByUserAndEvent(user.get(), event.get())
+                    ? Outcome.ALREADY_INSCRIBED : Outcome.GROUP_FULL;
+        }
+
+        // Se fuerza el INSERT aquí para que una violación de la restricción única salga de este método
+        inscriptionRepository.saveAndFlush(new Inscription(new Date(), event.get(), user.get(), group.get()));
+        return Outcome.CREATED;
+    }
+
+    /**
+     * Elimina la inscripción, libera su cupo y, en la misma transacción, promueve al
+     * siguiente usuario de la lista de espera del grupo.
+     *
+     * @return false si la inscripción ya no existía (doble clic o reintento); en ese caso no se
+     * libera ningún cupo
+     */
+    @Transactional
+    public boolean delete(Inscription inscription) {
+        if (inscriptionRepository.deleteByIdInBulk(inscription.getId()) == 0) {
+            return false;
+        }
+        if (inscription.getGroup() != null) {
+            groupEventRepository.releaseSeat(inscription.getGroup().getId());
+            promoteWaiting(inscription.getGroup().getId(), inscription.getEvent().getMax_participants_group());
+        }
+        return true;
+    }
+
+    /**
+     * Guarda el evento y, si su nueva capacidad deja cupos libres, los entrega a las listas de
+     * espera antes de que los vea cualquier nueva inscripción. Las filas de los grupos se
+     * bloquean antes de guardar la capacidad.
+     *
+     * @return cantidad de usuarios promovidos
+     */
+    @Transactional
+    public int saveEvent(Event event) {
+        List<GroupEvent> groups = groupEventRepository.findByEvent(event);
+        List<Long> groupIds = groups.stream().map(GroupEvent::getId).sorted().toList();
+        groupIds.forEach(groupEventRepository::findByIdForUpdate);
+        eventRepository.saveAndFlush(event);
+        int promoted = 0;
+        for (Long groupId : groupIds) {
+            promoted += promoteWaiting(groupId, event.getMax_participants_group());
+        }
+        return promoted;
+    }
+
+    private Outcome joinWaitlist(User user, Event event, GroupEvent group) {
+        // Camino lento (grupo lleno): sin INSERT de inscripción, el duplicado se comprueba aquí
+        if (inscriptionRepository.existsByUserAndEvent(user, event)) {
+            return Outcome.ALREADY_INSCRIBED;
+        }
+        if (waitlistEntryRepository.existsByUserIdAndEventId(user.getId(), event.getId())) {
+            return Outcome.ALREADY_WAITLISTED;
+        }
+        // El UPDATE bloquea la fila del grupo: los turnos se entregan sin huecos ni repetidos
+        groupEventRepository.issueWaitlistTurn(group.getId());
+        long sequence = groupEventRepository.findWaitlistTail(group.getId());
+        waitlistEntryRepository.save(new WaitlistEntry(group, event, user, sequence, new Date()));
+        return Outcome.WAITLISTED;
+    }
+
+    // Llena con la lista de espera todos los cupos libres del grupo
+    private int promoteWaiting(Long groupId, int capacity) {
+        int promoted = 0;
+        while (promoteNext(groupId, capacity)) {
+            promoted++;
+        }
+        return promoted;
+    }
+
+    // true si se promovió a alguien; false si la lista está vacía o no queda cupo
+    private boolean promoteNext(Long groupId, int capacity) {
+        while (true) {
+            List<WaitlistEntry> head = waitlistEntryRepository.findHead(groupId, PageRequest.of(0, 1));
+            if (head.isEmpty()) {
+                return false;
+            }
+            WaitlistEntry next = head.get(0);
+            boolean alreadyInscribed = inscriptionRepository.existsByUserAndEvent(next.getUser(), next.getEvent());
+            if (!alreadyInscribed) {
+                if (groupEventRepository.reserveSeat(groupId, capacity) == 0) {
+                    return false;
+                }
+                inscriptionRepository.save(new Inscription(new Date(), next.getEvent(), next.getUser(), next.getGroup()));
+                logger.info("Usuario {} promovido de la lista de espera del grupo {}", next.getUser().getUsername(), groupId);
+            }
+            waitlistEntryRepository.delete(next);
+            groupEventRepository.advanceWaitlistHead(groupId, next.getSequence());
+            if (!alreadyInscribed) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Compara cada contador con sus inscripciones reales, un grupo por transacción. La fila del
+     * grupo se bloquea antes de contar: toda admisión o baja que ya reservó o liberó su cupo ha
+     * terminado, y las nuevas esperan, así el conteo no puede quedarse corto. Los cupos que quedan
+     * libres tras la corrección se entregan a la lista de espera con la fila aún bloqueada.
+     *
+     * @return cantidad de grupos corregidos
+     */
+    public int reconcile() {
+        int corrected = 0;
+        for (Long groupId : groupEventRepository.findAllIds()) {
+            Boolean changed = transactionTemplate.execute(status -> {
+                Optional<GroupEvent> group = groupEventRepository.findByIdForUpdate(groupId);
+                if (group.isEmpty()) {
+                    return false;
+                }
+                int actual = (int) inscriptionRepository.countByGroupId(groupId);
+                boolean drifted = group.get().getOccupiedSeats() != actual;
+                if (drifted) {
+                    logger.warn("Grupo {}: contador de cupos {} corregido a {}", groupId, group.get().getOccupiedSeats(), actual);
+                    groupEventRepository.updateOccupiedSeats(groupId, actual);
+                }
+                int promoted = promoteWaiting(groupId, group.get().getEvent().getMax_participants_group());
+                if (promoted > 0) {
+                    logger.info("Grupo {}: {} usuarios promovidos de la lista de espera", groupId, promoted);
+                }
+                return drifted;
+            });
+            if (Boolean.TRUE.equals(changed)) {
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    public List<WaitlistPositionResponse> waitlistPositions(String username) {
+        return waitlistEntryRepository.findPositionsByUsername(username);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${bezkoder.app.seatReconcileMs:3600000}",
+            fixedDelayString = "${bezkoder.app.seatReconcileMs:3600000}")
+    public void reconcileSeats() {
+        int corrected = reconcile();
+        if (corrected > 0) {
+            logger.warn("Contadores de cupos corregidos en {} grupos", corrected);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.tecup.backend.services;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.*;
+
+/**
+ * Garantiza las restricciones únicas de las que dependen inscripciones y puntajes. Con
+ * ddl-auto=update Hibernate solo registra un warning si no puede crearlas (porque ya hay
+ * duplicados) y la aplicación arrancaría sin protección: aquí se eliminan los duplicados
+ * (se conserva la fila más antigua), se crea la restricción y, si aun así no existe, el
+ * arranque falla. Los cupos de las inscripciones eliminadas los corrige la reconciliación
+ * de InscriptionService al terminar el arranque.
+ */
+@Component
+@DependsOn("entityManagerFactory") // Hibernate ya intentó actualizar el esquema
+public class UniqueConstraintMigration {
+    private static final Logger logger = LoggerFactory.getLogger(UniqueConstraintMigration.class);
+
+    static final class Constraint {
+        private final String table;
+        private final String name;
+        private final List<String> columns;
+
+        Constraint(String table, String name, String... columns) {
+            this.table = table;
+            this.name = name;
+            this.columns = List.of(columns);
+        }
+    }
+
+    // Mismos nombres que las @UniqueConstraint de Inscription y Score
+    static final List<Constraint> CONSTRAINTS = List.of(
+            new Constraint("inscriptions", "uk_inscriptions_user_event", "user_id", "event_id"),
+            new Constraint("scores", "uk_scores_jury_group", "jury_id", "group_event_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UniqueConstraintMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        for (Constraint constraint : CONSTRAINTS) {
+            if (exists(constraint)) {
+                continue;
+            }
+            int removed = removeDuplicates(constraint);
+            jdbcTemplate.execute("alter table " + constraint.table + " add constraint " + constraint.name
+                    + " unique (" + String.join(", ", constraint.columns) + ")");
+            logger.warn("Restricción {} creada en {} ({} filas duplicadas eliminadas)", constraint.name, constraint.table, removed);
+            if (!exists(constraint)) {
+                throw new IllegalStateException("No se pudo crear la restricción única " + constraint.name
+                        + " en " + constraint.table);
+            }
+        }
+    }
+
+    // Se busca por columnas: el nombre del índice depende del motor (H2 le agrega un sufijo)
+    boolean exists(Constraint constraint) {
+        Set<String> expected = new HashSet<>(constraint.columns);
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers()
+                    ? constraint.table.toUpperCase(Locale.ROOT) : constraint.table;
+            Map<String, Set<String>> uniqueIndexes = new HashMap<>();
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, true, false)) {
+                while (indexes.next()) {
+                    String index = indexes.getString("INDEX_NAME");
+                    String column = indexes.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        uniqueIndexes.computeIfAbsent(index, key -> new HashSet<>()).add(column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            return uniqueIndexes.containsValue(expected);
+        });
+        return Boolean.TRUE.equals(found);
+    }
+
+    private int removeDuplicates(Constraint constraint) {
+        String sameKey = constraint.columns.stream()
+                .map(column -> "k." + column + " = t." + column)
+                .reduce((left, right) -> left + " and " + right)
+                .orElseThrow();
+        // Los ids se leen primero: MySQL no permite borrar de una tabla consultada en la misma sentencia
+        List<Long> duplicates = jdbcTemplate.queryForList("select t.id from " + constraint.table + " t where exists "
+                + "(select 1 from " + constraint.table + " k where " + sameKey + " and k.id < t.id)", Long.class);
+        jdbcTemplate.batchUpdate("delete from " + constraint.table + " where id = ?",
+                duplicates.stream().map(id -> new Object[]{id}).toList());
+        return duplicates.size();
+    }
+}
@@ -0,0 +1,85 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.payload.repository.UserRepository;
+import com.tecup.backend.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Disponibilidad de username/email. Un filtro de Bloom sembrado desde users responde
+ * "no existe" sin SQL; solo los posibles duplicados se confirman en la base de datos.
+ * Las restricciones únicas de users siguen siendo la validación final.
+ */
+@Service
+public class UserAvailabilityService {
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityService.class);
+
+    private final UserRepository userRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final BloomFilter usernames;
+
+    private final BloomFilter emails;
+
+    // Hasta terminar la siembra todas las consultas van a la base de datos
+    private volatile boolean seeded = false;
+
+    public UserAvailabilityService(UserRepository userRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   @Value("${bezkoder.app.userBloomExpectedUsers:200000}") long expectedUsers,
+                                   @Value("${bezkoder.app.userBloomFalsePositiveRate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        long[] count = {0};
+        jdbcTemplate.query("select username, email from users", rs -> {
+            usernames.put(normalize(rs.getString("username")));
+            emails.put(normalize(rs.getString("email")));
+            count[0]++;
+        });
+        seeded = true;
+        logger.info("Filtro de disponibilidad de usuarios sembrado con {} usuarios", count[0]);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        return !mightHaveUsername(username) || !userRepository.existsByUsername(username);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        return !mightHaveEmail(email) || !userRepository.existsByEmail(email);
+    }
+
+    public boolean mightHaveUsername(String username) {
+        return !seeded || usernames.mightContain(normalize(username));
+    }
+
+    public boolean mightHaveEmail(String email) {
+        return !seeded || emails.mightContain(normalize(email));
+    }
+
+    /**
+     * Registra un usuario recién insertado.
+     */
+    public void register(String username, String email) {
+        usernames.put(normalize(username));
+        emails.put(normalize(email));
+    }
+
+    // MySQL compara username/email sin distinguir mayúsculas
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
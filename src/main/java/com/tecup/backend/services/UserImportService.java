@@ -0,0 +1,380 @@
+package com.tecup.backend.services;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.tecup.backend.models.Career;
+import com.tecup.backend.models.ERole;
+import com.tecup.backend.models.Role;
+import com.tecup.backend.payload.repository.CareerRepository;
+import com.tecup.backend.payload.repository.RoleRepository;
+import com.tecup.backend.payload.repository.UserRepository;
+import com.tecup.backend.payload.request.SignupRequest;
+import com.tecup.backend.payload.response.UserImportResponse;
+import com.tecup.backend.payload.response.UserImportRowResponse;
+import com.tecup.backend.security.services.PasswordHashingService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Alta masiva de estudiantes: roles y carreras se resuelven una vez, los duplicados se
+ * detectan por lote, las contraseñas se hashean en paralelo y los INSERT van en batch JDBC.
+ */
+@Service
+public class UserImportService {
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_USER =
+            "insert into users (username, email, password, career_id, security_version) " +
+            "values (:username, :email, :password, :careerId, 0)";
+
+    private static final String SELECT_IDS = "select id, username from users where username in (:usernames)";
+
+    private static final String INSERT_USER_ROLE = "insert into user_roles (user_id, role_id) values (:userId, :roleId)";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final CareerRepository careerRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final UserAvailabilityService userAvailabilityService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public UserImportService(UserRepository userRepository,
+                             RoleRepository roleRepository,
+                             CareerRepository careerRepository,
+                             PasswordHashingService passwordHashingService,
+                             UserAvailabilityService userAvailabilityService,
+                             NamedParameterJdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             @Value("${bezkoder.app.userImportBatchSize:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.careerRepository = careerRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.userAvailabilityService = userAvailabilityService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Importa un arreglo JSON de SignupRequest leído como stream.
+     */
+    public UserImportResponse importJson(InputStream body) throws IOException {
+        try (MappingIterator<SignupRequest> rows = objectMapper.readerFor(SignupRequest.class).readValues(body)) {
+            return importRows(rows);
+        }
+    }
+
+    /**
+     * Importa un CSV con cabecera: username,email,password[,careerId][,role]. Varios roles se
+     * separan con '|'.
+     */
+    public UserImportResponse importCsv(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return new UserImportResponse(0, 0, 0, List.of());
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("username", "email", "password")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Error: Falta la columna '" + required + "' en el CSV.");
+            }
+        }
+
+        Iterator<SignupRequest> rows = reader.lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> toSignupRequest(parseCsvLine(line), columns))
+                .iterator();
+        try {
+            return importRows(rows);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private UserImportResponse importRows(Iterator<SignupRequest> rows) {
+        Map<ERole, Integer> roleIds = roleRepository.findAll().stream()
+                .collect(Collectors.toMap(Role::getName, Role::getId));
+        Set<Long> careerIds = careerRepository.findAll().stream()
+                .map(Career::getId)
+                .collect(Collectors.toSet());
+
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<UserImportRowResponse> results = new ArrayList<>();
+        List<PendingUser> chunk = new ArrayList<>(batchSize);
+
+        int row = 0;
+        while (true) {
+            SignupRequest request;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                row++;
+                request = rows.next();
+            } catch (RuntimeJsonMappingException e) {
+                // Un JSON mal formado no permite seguir leyendo el stream
+                results.add(new UserImportRowResponse(row, null, "INVALID", "JSON inválido: " + e.getMessage()));
+                break;
+            }
+
+            String rejection = precheck(request, careerIds, seenUsernames, seenEmails);
+            if (rejection != null) {
+                String status = rejection.startsWith("Duplicado") ? "DUPLICATE" : "INVALID";
+                results.add(new UserImportRowResponse(row, request.getUsername(), status, rejection));
+                continue;
+            }
+
+            chunk.add(new PendingUser(row, request, resolveRoles(request.getRole(), roleIds)));
+            if (chunk.size() >= batchSize) {
+                results.addAll(insertChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(insertChunk(chunk));
+        }
+
+        results.sort(Comparator.comparingInt(UserImportRowResponse::getRow));
+        int created = (int) results.stream().filter(result -> "CREATED".equals(result.getStatus())).count();
+        logger.info("Importación de usuarios: {} filas, {} creadas", results.size(), created);
+        return new UserImportResponse(results.size(), created, results.size() - created, results);
+    }
+
+    private String precheck(SignupRequest request, Set<Long> careerIds, Set<String> seenUsernames, Set<String> seenEmails) {
+        Set<ConstraintViolation<SignupRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (request.getCareerId() != null && !careerIds.contains(request.getCareerId())) {
+            return "Carrera no encontrada: " + request.getCareerId();
+        }
+        if (!seenUsernames.add(request.getUsername().toLowerCase(Locale.ROOT))) {
+            return "Duplicado: el username se repite en la importación.";
+        }
+        if (!seenEmails.add(request.getEmail().toLowerCase(Locale.ROOT))) {
+            return "Duplicado: el email se repite en la importación.";
+        }
+        return null;
+    }
+
+    private List<UserImportRowResponse> insertChunk(List<PendingUser> chunk) {
+        List<UserImportRowResponse> results = new ArrayList<>();
+
+        // Duplicados contra la base de datos: solo se consultan los positivos del filtro de Bloom
+        List<String> candidateUsernames = chunk.stream()
+                .map(pending -> pending.request.getUsername())
+                .filter(userAvailabilityService::mightHaveUsername)
+                .collect(Collectors.toList());
+        List<String> candidateEmails = chunk.stream()
+                .map(pending -> pending.request.getEmail())
+                .filter(userAvailabilityService::mightHaveEmail)
+                .collect(Collectors.toList());
+        Set<String> existingUsernames = candidateUsernames.isEmpty()
+                ? Set.of() : lowerCase(userRepository.findExistingUsernames(candidateUsernames));
+        Set<String> existingEmails = candidateEmails.isEmpty()
+                ? Set.of() : lowerCase(userRepository.findExistingEmails(candidateEmails));
+
+        List<PendingUser> accepted = new ArrayList<>();
+        for (PendingUser pending : chunk) {
+            if (existingUsernames.contains(pending.request.getUsername().toLowerCase(Locale.ROOT))) {
+                results.add(pending.result("DUPLICATE", "Duplicado: el username ya está registrado."));
+            } else if (existingEmails.contains(pending.request.getEmail().toLowerCase(Locale.ROOT))) {
+                results.add(pending.result("DUPLICATE", "Duplicado: el email ya está registrado."));
+            } else {
+                accepted.add(pending);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        List<String> hashes = passwordHashingService.encodeAll(accepted.stream()
+                .map(pending -> pending.request.getPassword())
+                .collect(Collectors.toList()));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertUsers(accepted, hashes));
+            accepted.forEach(pending -> {
+                userAvailabilityService.register(pending.request.getUsername(), pending.request.getEmail());
+                results.add(pending.result("CREATED", null));
+            });
+        } catch (DataAccessException e) {
+            logger.error("Falló el lote de importación que inicia en la fila {}: {}", accepted.get(0).row, e.getMessage());
+            accepted.forEach(pending -> results.add(pending.result("FAILED", "Error al guardar el lote: " + e.getMostSpecificCause().getMessage())));
+        }
+        return results;
+    }
+
+    private void insertUsers(List<PendingUser> users, List<String> hashes) {
+        SqlParameterSource[] userRows = new SqlParameterSource[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            SignupRequest request = users.get(i).request;
+            userRows[i] = new MapSqlParameterSource()
+                    .addValue("username", request.getUsername())
+                    .addValue("email", request.getEmail())
+                    .addValue("password", hashes.get(i))
+                    .addValue("careerId", request.getCareerId());
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, userRows);
+
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS,
+                new MapSqlParameterSource("usernames", users.stream().map(user -> user.request.getUsername()).collect(Collectors.toList())),
+                rs -> {
+                    ids.put(rs.getString("username").toLowerCase(Locale.ROOT), rs.getLong("id"));
+                });
+
+        List<SqlParameterSource> roleRows = new ArrayList<>();
+        for (PendingUser user : users) {
+            Long userId = ids.get(user.request.getUsername().toLowerCase(Locale.ROOT));
+            for (Integer roleId : user.roleIds) {
+                roleRows.add(new MapSqlParameterSource().addValue("userId", userId).addValue("roleId", roleId));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, roleRows.toArray(new SqlParameterSource[0]));
+    }
+
+    // Misma correspondencia de roles que AuthController.registerUser
+    private static Set<Integer> resolveRoles(Set<String> requested, Map<ERole, Integer> roleIds) {
+        Set<ERole> roles = EnumSet.noneOf(ERole.class);
+        if (requested == null || requested.isEmpty()) {
+            roles.add(ERole.ROLE_USER);
+        } else {
+            for (String role : requested) {
+                switch (role) {
+                    case "admin" -> roles.add(ERole.ROLE_ADMIN);
+                    case "organizador" -> roles.add(ERole.ROLE_ORGANIZADOR);
+                    case "jurado" -> roles.add(ERole.ROLE_JURADO);
+                    default -> roles.add(ERole.ROLE_USER);
+                }
+            }
+        }
+
+        Set<Integer> ids = new HashSet<>();
+        for (ERole role : roles) {
+            Integer id = roleIds.get(role);
+            if (id == null) {
+                throw new RuntimeException("Error: Role is not found.");
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static Set<String> lowerCase(Collection<String> values) {
+        return values.stream().map(value -> value.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
+
+    private static SignupRequest toSignupRequest(List<String> fields, Map<String, Integer> columns) {
+        SignupRequest request = new SignupRequest();
+        request.setUsername(column(fields, columns, "username"));
+        request.setEmail(column(fields, columns, "email"));
+        request.setPassword(column(fields, columns, "password"));
+
+        String careerId = column(fields, columns, "careerid");
+        if (careerId != null && !careerId.isBlank()) {
+            try {
+                request.setCareerId(Long.valueOf(careerId.trim()));
+            } catch (NumberFormatException e) {
+                request.setCareerId(-1L);
+            }
+        }
+
+        String role = column(fields, columns, "role");
+        if (role != null && !role.isBlank()) {
+            request.setRole(Arrays.stream(role.split("\\|"))
+                    .map(String::trim)
+                    .filter(value -> !value.isEmpty())
+                    .collect(Collectors.toSet()));
+        }
+        return request;
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < fields.size() ? fields.get(index) : null;
+    }
+
+    // Separa una línea CSV respetando comillas dobles ("" dentro de un campo entrecomillado)
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static class PendingUser {
+        private final int row;
+        private final SignupRequest request;
+        private final Set<Integer> roleIds;
+
+        PendingUser(int row, SignupRequest request, Set<Integer> roleIds) {
+            this.row = row;
+            this.request = request;
+            this.roleIds = roleIds;
+        }
+
+        UserImportRowResponse result(String status, String message) {
+            return new UserImportRowResponse(row, request.getUsername(), status, message);
+        }
+    }
+}
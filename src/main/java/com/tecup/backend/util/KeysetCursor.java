@@ -0,0 +1,50 @@
+package com.tecup.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Token de continuación opaco para paginación por keyset: (fecha, id) de la última fila
+ * devuelta, codificado en base64url. Una fecha nula se codifica como "n".
+ */
+public final class KeysetCursor {
+    private final Date date;
+    private final long id;
+
+    public KeysetCursor(Date date, long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = (date != null ? Long.toString(date.getTime()) : "n") + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static KeysetCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+        int separator = raw.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + token);
+        }
+        String datePart = raw.substring(0, separator);
+        try {
+            Date date = "n".equals(datePart) ? null : new Date(Long.parseLong(datePart));
+            return new KeysetCursor(date, Long.parseLong(raw.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + token, e);
+        }
+    }
+}
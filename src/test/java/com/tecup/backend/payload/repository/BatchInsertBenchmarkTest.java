@@ -0,0 +1,150 @@
+package com.tecup.backend.payload.repository;
+
+import com.tecup.backend.models.Department;
+import com.tecup.backend.models.Event;
+import com.tecup.backend.models.GroupEvent;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cuenta los viajes a la base de datos al crear los grupos de un evento: las entidades con
+ * IDENTITY (Event) envían un INSERT por fila y las de generador de tabla (GroupEvent) un lote.
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(BatchInsertBenchmarkTest.StatementCounterConfig.class)
+class BatchInsertBenchmarkTest {
+
+    private static final int DEPARTMENTS = 30;
+
+    private static final Set<String> ROUND_TRIPS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch");
+
+    static final AtomicInteger roundTrips = new AtomicInteger();
+
+    static final AtomicInteger batches = new AtomicInteger();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private GroupEventRepository groupEventRepository;
+
+    @Test
+    void groupCreationIsBatched() {
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            departments.add(new Department(null, "Departamento " + i));
+        }
+        departmentRepository.saveAll(departments);
+        Event event = eventRepository.save(event("Evento base"));
+        entityManager.flush();
+
+        // IDENTITY: un INSERT por evento
+        resetCounters();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            events.add(event("Evento " + i));
+        }
+        eventRepository.saveAll(events);
+        entityManager.flush();
+        int identityRoundTrips = roundTrips.get();
+
+        // Generador de tabla: reserva de ids + un lote de INSERT
+        resetCounters();
+        List<GroupEvent> groups = new ArrayList<>();
+        for (Department department : departments) {
+            groups.add(new GroupEvent(department.getName(), event, department));
+        }
+        groupEventRepository.saveAll(groups);
+        entityManager.flush();
+        int pooledRoundTrips = roundTrips.get();
+
+        assertEquals(DEPARTMENTS, identityRoundTrips);
+        assertEquals(DEPARTMENTS, groupEventRepository.findByEvent(event).size());
+        assertTrue(batches.get() >= 1);
+        assertTrue(pooledRoundTrips * 5 <= identityRoundTrips,
+                "Se esperaba al menos 5 veces menos viajes, hubo " + pooledRoundTrips);
+    }
+
+    private static Event event(String name) {
+        Event event = new Event();
+        event.setName(name);
+        event.setStart_date(new Date());
+        event.setEnd_date(new Date());
+        event.setMax_participants_group(10);
+        return event;
+    }
+
+    private static void resetCounters() {
+        roundTrips.set(0);
+        batches.set(0);
+    }
+
+    @TestConfiguration
+    static class StatementCounterConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? countingProxy(bean, DataSource.class) : bean;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> T countingProxy(Object target, Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (ROUND_TRIPS.contains(method.getName())) {
+                    roundTrips.incrementAndGet();
+                    if (method.getName().equals("executeBatch")) {
+                        batches.incrementAndGet();
+                    }
+                }
+                if (result instanceof Connection && method.getReturnType() == Connection.class) {
+                    return countingProxy(result, Connection.class);
+                }
+                if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return countingProxy(result, method.getReturnType());
+                }
+                return result;
+            });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
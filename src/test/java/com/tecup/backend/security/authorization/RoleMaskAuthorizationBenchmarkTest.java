@@ -0,0 +1,126 @@
+package com.tecup.backend.security.authorization;
+
+import com.tecup.backend.models.ERole;
+import com.tecup.backend.security.services.UserDetailsImpl;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * La máscara de @AllowedRoles decide igual que la expresión SpEL de @PreAuthorize. La
+ * comparación de tiempos es opcional (-Dbenchmarks=true) para no depender de la carga del CI.
+ */
+class RoleMaskAuthorizationBenchmarkTest {
+
+  private static final String ANY_ROLE_EXPRESSION =
+          "hasRole('USER') or hasRole('ORGANIZADOR') or hasRole('ADMIN') or hasRole('JURADO')";
+
+  private static final int WARMUP_ITERATIONS = 50_000;
+
+  private static final int MEASURED_ITERATIONS = 200_000;
+
+  static class SampleController {
+    @AllowedRoles({ERole.ROLE_USER, ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN, ERole.ROLE_JURADO})
+    public void anyRole() {
+    }
+
+    @AllowedRoles({ERole.ROLE_ORGANIZADOR, ERole.ROLE_ADMIN})
+    public void organizerOrAdmin() {
+    }
+  }
+
+  private final DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+
+  private final RoleMaskAuthorizationManager roleMaskManager = new RoleMaskAuthorizationManager();
+
+  @Test
+  void roleMaskMatchesSpelForEveryRoleCombination() throws Exception {
+    MethodInvocation anyRole = invocation("anyRole");
+    MethodInvocation organizerOrAdmin = invocation("organizerOrAdmin");
+    Expression anyRoleExpression = expressionHandler.getExpressionParser().parseExpression(ANY_ROLE_EXPRESSION);
+    Expression organizerOrAdminExpression = expressionHandler.getExpressionParser()
+            .parseExpression("hasRole('ORGANIZADOR') or hasRole('ADMIN')");
+
+    ERole[] roles = ERole.values();
+    for (int combination = 0; combination < (1 << roles.length); combination++) {
+      List<ERole> granted = new ArrayList<>();
+      for (ERole role : roles) {
+        if ((combination & role.mask()) != 0) {
+          granted.add(role);
+        }
+      }
+      Authentication authentication = authenticationWith(granted);
+
+      assertEquals(evaluateSpel(anyRoleExpression, authentication, anyRole),
+              roleMaskManager.check(() -> authentication, anyRole).isGranted(), "roles " + granted);
+      assertEquals(evaluateSpel(organizerOrAdminExpression, authentication, organizerOrAdmin),
+              roleMaskManager.check(() -> authentication, organizerOrAdmin).isGranted(), "roles " + granted);
+    }
+  }
+
+  // Medición de tiempos: solo con -Dbenchmarks=true, el resultado se publica en el reporte de JUnit
+  @Test
+  @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+  void measureRoleMaskAgainstSpelChain(TestReporter reporter) throws Exception {
+    MethodInvocation anyRole = invocation("anyRole");
+    Expression expression = expressionHandler.getExpressionParser().parseExpression(ANY_ROLE_EXPRESSION);
+    // Peor caso para la cadena SpEL: el único rol es el último que se evalúa
+    Authentication jurado = authenticationWith(List.of(ERole.ROLE_JURADO));
+
+    BooleanSupplier spel = () -> evaluateSpel(expression, jurado, anyRole);
+    BooleanSupplier mask = () -> roleMaskManager.check(() -> jurado, anyRole).isGranted();
+
+    double spelNanos = nanosPerCall(spel);
+    double maskNanos = nanosPerCall(mask);
+    reporter.publishEntry("preAuthorizeSpelNsPerOp", String.format("%.1f", spelNanos));
+    reporter.publishEntry("allowedRolesMaskNsPerOp", String.format("%.1f", maskNanos));
+  }
+
+  // Igual que PreAuthorizeAuthorizationManager: un contexto de evaluación nuevo por invocación
+  private boolean evaluateSpel(Expression expression, Authentication authentication, MethodInvocation invocation) {
+    EvaluationContext context = expressionHandler.createEvaluationContext(() -> authentication, invocation);
+    return ExpressionUtils.evaluateAsBoolean(expression, context);
+  }
+
+  private static double nanosPerCall(BooleanSupplier check) {
+    int granted = 0;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      granted += check.getAsBoolean() ? 1 : 0;
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      granted += check.getAsBoolean() ? 1 : 0;
+    }
+    long elapsed = System.nanoTime() - start;
+    assertEquals(WARMUP_ITERATIONS + MEASURED_ITERATIONS, granted);
+    return (double) elapsed / MEASURED_ITERATIONS;
+  }
+
+  private static MethodInvocation invocation(String methodName) throws NoSuchMethodException {
+    SampleController target = new SampleController();
+    return new SimpleMethodInvocation(target, SampleController.class.getMethod(methodName));
+  }
+
+  private static Authentication authenticationWith(List<ERole> roles) {
+    List<GrantedAuthority> authorities = new ArrayList<>();
+    roles.forEach(role -> authorities.add(new SimpleGrantedAuthority(role.name())));
+    UserDetailsImpl principal = new UserDetailsImpl(1L, "benchmark", "benchmark@tecup.pe", null, authorities);
+    return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+  }
+}
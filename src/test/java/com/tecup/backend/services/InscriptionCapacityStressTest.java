@@ -0,0 +1,197 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.models.*;
+import com.tecup.backend.payload.repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Muchos alumnos del mismo departamento se inscriben a la vez en un grupo con pocos cupos:
+ * el UPDATE condicional de InscriptionService debe admitir exactamente la capacidad.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:inscription-stress;LOCK_TIMEOUT=30000",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(InscriptionService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InscriptionCapacityStressTest {
+
+    private static final int STUDENTS = 200;
+
+    private static final int CAPACITY = 25;
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private InscriptionService inscriptionService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CareerRepository careerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private GroupEventRepository groupEventRepository;
+
+    @Autowired
+    private InscriptionRepository inscriptionRepository;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Test
+    void concurrentInscriptionsNeverExceedGroupCapacity() throws Exception {
+        Department department = departmentRepository.save(new Department(null, "Sistemas"));
+        Career career = careerRepository.save(new Career(null, "Software", department));
+
+        Event event = new Event();
+        event.setName("Hackathon");
+        event.setStart_date(new Date());
+        event.setEnd_date(new Date());
+        event.setMax_participants_group(CAPACITY);
+        event = eventRepository.save(event);
+        GroupEvent group = groupEventRepository.save(new GroupEvent("Sistemas", event, department));
+
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            User student = new User("alumno" + i, "alumno" + i + "@tecsup.edu.pe", "x");
+            student.setCareer(career);
+            students.add(student);
+        }
+        userRepository.saveAll(students);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Long eventId = event.getId();
+        List<Future<InscriptionService.Outcome>> futures = new ArrayList<>();
+        for (User student : students) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return inscriptionService.create(student.getUsername(), eventId);
+            }));
+        }
+        start.countDown();
+
+        Map<InscriptionService.Outcome, Integer> outcomes = new EnumMap<>(InscriptionService.Outcome.class);
+        String rejected = null;
+        for (int i = 0; i < futures.size(); i++) {
+            InscriptionService.Outcome outcome = futures.get(i).get(60, TimeUnit.SECONDS);
+            outcomes.merge(outcome, 1, Integer::sum);
+            if (outcome == InscriptionService.Outcome.GROUP_FULL) {
+                rejected = students.get(i).getUsername();
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(CAPACITY, outcomes.getOrDefault(InscriptionService.Outcome.CREATED, 0));
+        assertEquals(STUDENTS - CAPACITY, outcomes.getOrDefault(InscriptionService.Outcome.GROUP_FULL, 0));
+        assertEquals(CAPACITY, inscriptionRepository.countByEvent(event));
+        assertEquals(CAPACITY, groupEventRepository.findById(group.getId()).orElseThrow().getOccupiedSeats());
+
+        // Al eliminar una inscripción se libera el cupo y la reconciliación no encuentra diferencias
+        inscriptionService.delete(inscriptionRepository.findAll().stream()
+                .filter(inscription -> inscription.getGroup().getId().equals(group.getId()))
+                .findFirst().orElseThrow());
+        assertEquals(CAPACITY - 1, groupEventRepository.findById(group.getId()).orElseThrow().getOccupiedSeats());
+        assertEquals(0, inscriptionService.reconcile());
+
+        // Una inscripción repetida la rechaza la restricción única y se revierte la reserva del cupo
+        String admitted = inscriptionRepository.findAll().stream()
+                .filter(inscription -> inscription.getGroup().getId().equals(group.getId()))
+                .findFirst().orElseThrow().getUser().getUsername();
+        assertThrows(DataIntegrityViolationException.class, () -> inscriptionService.create(admitted, eventId));
+        assertEquals(CAPACITY - 1, groupEventRepository.findById(group.getId()).orElseThrow().getOccupiedSeats());
+
+        assertEquals(InscriptionService.Outcome.CREATED, inscriptionService.create(rejected, eventId));
+        assertEquals(CAPACITY, groupEventRepository.findById(group.getId()).orElseThrow().getOccupiedSeats());
+
+        // Con el grupo lleno, un inscrito que repite la solicitud recibe ALREADY_INSCRIBED y no GROUP_FULL
+        assertEquals(InscriptionService.Outcome.ALREADY_INSCRIBED, inscriptionService.create(admitted, eventId));
+        assertEquals(CAPACITY, groupEventRepository.findById(group.getId()).orElseThrow().getOccupiedSeats());
+    }
+
+    @Test
+    void freedSeatsPromoteTheWaitlistInArrivalOrder() {
+        Department department = departmentRepository.save(new Department(null, "Mecánica"));
+        Career career = careerRepository.save(new Career(null, "Mantenimiento", department));
+
+        Event event = new Event();
+        event.setName("Feria");
+        event.setStart_date(new Date());
+        event.setEnd_date(new Date());
+        event.setMax_participants_group(1);
+        event = eventRepository.save(event);
+        GroupEvent group = groupEventRepository.save(new GroupEvent("Mecánica", event, department));
+
+        List<String> usernames = List.of("espera0", "espera1", "espera2", "espera3");
+        for (String username : usernames) {
+            User student = new User(username, username + "@tecsup.edu.pe", "x");
+            student.setCareer(career);
+            userRepository.save(student);
+        }
+
+        assertEquals(InscriptionService.Outcome.CREATED, inscriptionService.create("espera0", event.getId(), true));
+        assertEquals(InscriptionService.Outcome.WAITLISTED, inscriptionService.create("espera1", event.getId(), true));
+        assertEquals(InscriptionService.Outcome.WAITLISTED, inscriptionService.create("espera2", event.getId(), true));
+        assertEquals(InscriptionService.Outcome.ALREADY_WAITLISTED, inscriptionService.create("espera2", event.getId(), true));
+        assertEquals(2, inscriptionService.waitlistPositions("espera2").get(0).getPosition());
+
+        // La baja de espera0 promueve a espera1 y espera2 pasa a ser el siguiente
+        Inscription first = inscriptionRepository.findAll().stream()
+                .filter(inscription -> inscription.getUser().getUsername().equals("espera0"))
+                .findFirst().orElseThrow();
+        assertTrue(inscriptionService.delete(first));
+        // Un reintento de la misma baja no libera otro cupo ni promueve a espera2
+        assertFalse(inscriptionService.delete(first));
+
+        assertEquals(InscriptionService.Outcome.ALREADY_INSCRIBED, inscriptionService.create("espera1", event.getId(), true));
+        assertEquals(1, inscriptionService.waitlistPositions("espera2").get(0).getPosition());
+        assertEquals(1, groupEventRepository.findById(group.getId()).orElseThrow().getOccupiedSeats());
+        assertEquals(1, waitlistEntryRepository.findAll().stream()
+                .filter(entry -> entry.getGroup().getId().equals(group.getId()))
+                .count());
+
+        // Ampliar el cupo entrega el nuevo lugar a espera2, no a quien se inscriba después
+        assertEquals(InscriptionService.Outcome.WAITLISTED, inscriptionService.create("espera3", event.getId(), true));
+        event.setMax_participants_group(2);
+        assertEquals(1, inscriptionService.saveEvent(event));
+        assertEquals(InscriptionService.Outcome.ALREADY_INSCRIBED, inscriptionService.create("espera2", event.getId(), true));
+        assertEquals(2, groupEventRepository.findById(group.getId()).orElseThrow().getOccupiedSeats());
+
+        // Una fila borrada sin liberar su cupo: la reconciliación corrige el contador y promueve a espera3
+        inscriptionRepository.deleteById(inscriptionRepository.findAll().stream()
+                .filter(inscription -> inscription.getUser().getUsername().equals("espera1"))
+                .findFirst().orElseThrow().getId());
+        assertEquals(1, inscriptionService.reconcile());
+        assertEquals(InscriptionService.Outcome.ALREADY_INSCRIBED, inscriptionService.create("espera3", event.getId(), true));
+        assertEquals(2, groupEventRepository.findById(group.getId()).orElseThrow().getOccupiedSeats());
+        assertTrue(waitlistEntryRepository.findAll().stream()
+                .noneMatch(entry -> entry.getGroup().getId().equals(group.getId())));
+    }
+}
@@ -0,0 +1,66 @@
+package com.tecup.backend.services;
+
+import com.tecup.backend.models.*;
+import com.tecup.backend.payload.repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Una base existente con inscripciones duplicadas (sin la restricción única) queda
+ * deduplicada y protegida al arrancar.
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(UniqueConstraintMigration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UniqueConstraintMigrationTest {
+
+    @Autowired
+    private UniqueConstraintMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private InscriptionRepository inscriptionRepository;
+
+    @Test
+    void duplicatesAreRemovedAndTheConstraintIsCreated() {
+        UniqueConstraintMigration.Constraint inscriptions = UniqueConstraintMigration.CONSTRAINTS.get(0);
+        assertTrue(migration.exists(inscriptions));
+
+        // Esquema anterior: sin la restricción y con una inscripción repetida
+        jdbcTemplate.execute("alter table inscriptions drop constraint uk_inscriptions_user_event");
+        assertFalse(migration.exists(inscriptions));
+        User user = userRepository.save(new User("duplicado", "duplicado@tecsup.edu.pe", "x"));
+        Event event = new Event();
+        event.setName("Feria");
+        event = eventRepository.save(event);
+        Inscription first = inscriptionRepository.save(new Inscription(new Date(), event, user, null));
+        inscriptionRepository.save(new Inscription(new Date(), event, user, null));
+
+        migration.migrate();
+
+        assertTrue(migration.exists(inscriptions));
+        assertEquals(1, inscriptionRepository.countByEvent(event));
+        assertTrue(inscriptionRepository.existsById(first.getId()));
+        Event saved = event;
+        assertThrows(DataIntegrityViolationException.class,
+                () -> inscriptionRepository.saveAndFlush(new Inscription(new Date(), saved, user, null)));
+    }
+}